@@ -0,0 +1,47 @@
+package swp391.com.backend.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.parallel.pool-size:8}") int poolSize,
+            @Value("${dashboard.parallel.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor dashboardRefreshExecutor(
+            @Value("${dashboard.cache.refresh-pool-size:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("dashboard-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor cyclePredictionBatchExecutor(
+            @Value("${cycle.prediction.batch.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("cycle-batch-");
+        executor.initialize();
+        return executor;
+    }
+}
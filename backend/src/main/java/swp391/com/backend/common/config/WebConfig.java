@@ -12,6 +12,7 @@ public class WebConfig implements WebMvcConfigurer{
                 .allowedOriginPatterns("*")
                 .allowedMethods("*")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Total-Count")
                 .allowCredentials(true);
     }
 }
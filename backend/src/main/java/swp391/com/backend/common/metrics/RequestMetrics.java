@@ -0,0 +1,125 @@
+package swp391.com.backend.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RequestMetrics {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Duration window;
+    private final long sessionIdleMillis;
+    private final Timer allRequests;
+    private final SlidingWindowCounter requestCounter;
+    private final SlidingWindowCounter serverErrorCounter;
+    private final SlidingWindowCounter handledErrorCounter;
+    private final SlidingWindowCounter bytesCounter;
+    private final Map<String, UserSession> sessions = new ConcurrentHashMap<>();
+
+    public RequestMetrics(MeterRegistry registry,
+                          @Value("${metrics.requests.window-ms:300000}") long windowMillis,
+                          @Value("${metrics.requests.session-idle-ms:1800000}") long sessionIdleMillis) {
+        this.registry = registry;
+        this.window = Duration.ofMillis(windowMillis);
+        this.sessionIdleMillis = sessionIdleMillis;
+        this.allRequests = timer("all", "ALL");
+        this.requestCounter = new SlidingWindowCounter(windowMillis, 30);
+        this.serverErrorCounter = new SlidingWindowCounter(windowMillis, 30);
+        this.handledErrorCounter = new SlidingWindowCounter(windowMillis, 30);
+        this.bytesCounter = new SlidingWindowCounter(windowMillis, 30);
+    }
+
+    void recordRequest(String route, String method, int status, long durationNanos, long bytesWritten, String userId) {
+        long now = System.currentTimeMillis();
+        allRequests.record(durationNanos, TimeUnit.NANOSECONDS);
+        timer(route, method).record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.http.response.bytes")
+                .tag("route", route)
+                .baseUnit("bytes")
+                .register(registry)
+                .record(bytesWritten);
+
+        requestCounter.add(1, now);
+        bytesCounter.add(bytesWritten, now);
+        if (status >= 500) {
+            serverErrorCounter.add(1, now);
+        }
+        if (userId != null) {
+            sessions.compute(userId, (id, session) -> session == null || now - session.lastSeen() > sessionIdleMillis
+                    ? new UserSession(now, now)
+                    : new UserSession(session.start(), now));
+        }
+    }
+
+    public void recordError(Throwable error, int status) {
+        Counter.builder("app.http.errors")
+                .tag("exception", error.getClass().getSimpleName())
+                .tag("status", String.valueOf(status))
+                .register(registry)
+                .increment();
+        handledErrorCounter.add(1, System.currentTimeMillis());
+    }
+
+    public RequestMetricsSnapshot snapshot() {
+        long now = System.currentTimeMillis();
+        double p50 = 0;
+        double p99 = 0;
+        for (ValueAtPercentile value : allRequests.takeSnapshot().percentileValues()) {
+            if (value.percentile() == 0.5) {
+                p50 = value.value(TimeUnit.MILLISECONDS);
+            } else if (value.percentile() == 0.99) {
+                p99 = value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+
+        long activeUsers = 0;
+        long sessionMillis = 0;
+        for (UserSession session : sessions.values()) {
+            if (now - session.lastSeen() <= window.toMillis()) {
+                activeUsers++;
+                sessionMillis += session.lastSeen() - session.start();
+            }
+        }
+
+        return new RequestMetricsSnapshot(
+                requestCounter.sum(now),
+                serverErrorCounter.sum(now),
+                handledErrorCounter.sum(now),
+                p50,
+                p99,
+                bytesCounter.sum(now) * 1000.0 / bytesCounter.windowMillis(),
+                activeUsers,
+                activeUsers == 0 ? 0 : sessionMillis / 60000.0 / activeUsers);
+    }
+
+    @Scheduled(fixedRateString = "${metrics.requests.session-idle-ms:1800000}")
+    public void evictIdleSessions() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> now - session.lastSeen() > sessionIdleMillis);
+    }
+
+    // Percentiles decay over the same window as the counters, so p50/p99 describe recent traffic only.
+    private Timer timer(String route, String method) {
+        return Timer.builder("app.http.requests")
+                .tag("route", route)
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(3)
+                .register(registry);
+    }
+
+    private record UserSession(long start, long lastSeen) {}
+}
@@ -0,0 +1,12 @@
+package swp391.com.backend.common.metrics;
+
+public record RequestMetricsSnapshot(
+    long requests,
+    long serverErrors,
+    long handledErrors,
+    double p50Millis,
+    double p99Millis,
+    double bytesPerSecond,
+    long activeUsers,
+    double avgSessionMinutes
+) {}
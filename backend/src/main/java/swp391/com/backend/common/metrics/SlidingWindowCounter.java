@@ -0,0 +1,45 @@
+package swp391.com.backend.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sums values over the last window using a ring of fixed-width buckets, so reads never scan raw events.
+class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final LongAdder[] buckets;
+    private final AtomicLongArray bucketStarts;
+
+    SlidingWindowCounter(long windowMillis, int bucketCount) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.buckets = new LongAdder[bucketCount];
+        this.bucketStarts = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void add(long value, long nowMillis) {
+        long start = nowMillis - nowMillis % bucketMillis;
+        int index = (int) ((nowMillis / bucketMillis) % buckets.length);
+        long current = bucketStarts.get(index);
+        if (current != start && bucketStarts.compareAndSet(index, current, start)) {
+            buckets[index].reset();
+        }
+        buckets[index].add(value);
+    }
+
+    long sum(long nowMillis) {
+        long oldest = nowMillis - bucketMillis * buckets.length;
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketStarts.get(i) > oldest) {
+                total += buckets[i].sum();
+            }
+        }
+        return total;
+    }
+
+    long windowMillis() {
+        return bucketMillis * buckets.length;
+    }
+}
@@ -31,6 +31,30 @@ public class AuthenticationUtil {
     }
 
     
+    public Long getCurrentAdminId() {
+        try {
+            ServletRequestAttributes attr = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+            HttpServletRequest request = attr.getRequest();
+
+            String adminIdHeader = request.getHeader("X-Admin-ID");
+            if (adminIdHeader != null && !adminIdHeader.isEmpty()) {
+                return Long.valueOf(adminIdHeader);
+            }
+
+            String userIdHeader = request.getHeader("X-User-ID");
+            if (userIdHeader != null && !userIdHeader.isEmpty()) {
+                return Long.valueOf(userIdHeader);
+            }
+
+            return 1L;
+
+        } catch (Exception e) {
+
+            return 1L;
+        }
+    }
+
+    
     public Long getCurrentDoctorId() {
         try {
             ServletRequestAttributes attr = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
@@ -8,7 +8,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_created_at", columnList = "created_at"),
+        @Index(name = "idx_accounts_status", columnList = "status")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -1,7 +1,12 @@
 package swp391.com.backend.feature.account.data;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import swp391.com.backend.feature.dashboard.data.BucketCount;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,5 +16,21 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByStatus(Boolean status);
     List<Account> findByRoleAndStatus(Role role, Boolean status);
     boolean existsByEmail(String email);
+
+    @Query("SELECT a.status AS status, COUNT(a) AS total FROM Account a GROUP BY a.status")
+    List<AccountStatusCount> countByStatus();
+
+    @Query(value = "SELECT CASE :granularity " +
+            "WHEN 'DAY' THEN DATE_FORMAT(a.created_at, '%Y-%m-%d') " +
+            "WHEN 'WEEK' THEN DATE_FORMAT(DATE_SUB(a.created_at, INTERVAL WEEKDAY(a.created_at) DAY), '%Y-%m-%d') " +
+            "ELSE DATE_FORMAT(a.created_at, '%Y-%m-01') END AS bucket, " +
+            "COUNT(*) AS total " +
+            "FROM accounts a " +
+            "WHERE a.created_at >= :from AND a.created_at < :to " +
+            "GROUP BY bucket ORDER BY bucket",
+            nativeQuery = true)
+    List<BucketCount> countCreatedByBucket(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("granularity") String granularity);
 }
 
@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.account.data;
+
+public interface AccountStatusCount {
+    Boolean getStatus();
+    Long getTotal();
+}
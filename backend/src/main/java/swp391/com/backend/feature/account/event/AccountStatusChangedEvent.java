@@ -0,0 +1,5 @@
+package swp391.com.backend.feature.account.event;
+
+import swp391.com.backend.feature.account.data.Account;
+
+public record AccountStatusChangedEvent(Account account, Boolean previousStatus) {}
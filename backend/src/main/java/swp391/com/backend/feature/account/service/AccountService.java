@@ -3,16 +3,19 @@ package swp391.com.backend.feature.account.service;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.account.data.*;
 import swp391.com.backend.feature.account.dto.AccountManagementDTO;
+import swp391.com.backend.feature.account.event.AccountStatusChangedEvent;
 import swp391.com.backend.feature.admin.data.*;
 import swp391.com.backend.feature.customer.data.*;
 import swp391.com.backend.feature.doctor.data.*;
 import swp391.com.backend.feature.staff.data.*;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +26,7 @@ public class AccountService {
     private final CustomerRepository customerRepository;
     private final AdminRepository adminRepository;
     private final StaffRepository staffRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -62,6 +66,7 @@ public class AccountService {
 
     public Account updateAccount(Long id, Account accountDetails) {
         Account account = findAccountById(id);
+        Boolean previousStatus = account.getStatus();
         account.setEmail(accountDetails.getEmail());
         account.setStatus(accountDetails.getStatus());
         account.setRole(accountDetails.getRole());
@@ -70,7 +75,9 @@ public class AccountService {
             account.setPassword(accountDetails.getPassword());
         }
 
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        publishStatusChange(saved, previousStatus);
+        return saved;
     }
 
     public List<Account> findAccountsByRole(Role role) {
@@ -83,8 +90,11 @@ public class AccountService {
 
     public Account toggleAccountStatus(Long id) {
         Account account = findAccountById(id);
+        Boolean previousStatus = account.getStatus();
         account.setStatus(!account.getStatus());
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        publishStatusChange(saved, previousStatus);
+        return saved;
     }
 
     public AccountManagementDTO getAccountWithProfile(Long id) {
@@ -159,6 +169,7 @@ public class AccountService {
     public AccountManagementDTO updateAccountWithProfile(Long id, String email, String password, Role role, String name, String phoneNumber, Boolean status) {
         Account account = findAccountById(id);
         Role oldRole = account.getRole();
+        Boolean previousStatus = account.getStatus();
 
         if (!account.getEmail().equals(email) && accountRepository.existsByEmail(email)) {
             throw new RuntimeException("Email already exists: " + email);
@@ -170,6 +181,7 @@ public class AccountService {
         account.setStatus(status);
 
         account = accountRepository.saveAndFlush(account);
+        publishStatusChange(account, previousStatus);
 
         if (!oldRole.equals(role)) {
             handleRoleTransitionSafely(id, oldRole, role, name, phoneNumber);
@@ -192,17 +204,25 @@ public class AccountService {
             throw new RuntimeException("Phone number must be 10 digits starting with 0.");
         }
 
+        Boolean previousStatus = account.getStatus();
         account.setEmail(email);
         account.setPassword((password != null && !password.isEmpty()) ? password : account.getPassword());
         account.setStatus(status);
 
         account = accountRepository.save(account);
+        publishStatusChange(account, previousStatus);
 
         updateExistingProfile(id, account.getRole(), name, phoneNumber);
 
         return getAccountWithProfile(id);
     }
 
+    private void publishStatusChange(Account account, Boolean previousStatus) {
+        if (!Objects.equals(previousStatus, account.getStatus())) {
+            eventPublisher.publishEvent(new AccountStatusChangedEvent(account, previousStatus));
+        }
+    }
+
     private void handleRoleTransitionSafely(Long accountId, Role oldRole, Role newRole, String name, String phoneNumber) {
         if (oldRole == Role.STAFF || newRole == Role.STAFF) {
             handleStaffRoleTransition(accountId, oldRole, newRole, name, phoneNumber);
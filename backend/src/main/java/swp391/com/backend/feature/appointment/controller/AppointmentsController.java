@@ -84,12 +84,10 @@ public class AppointmentsController {
         }
 
         if(queryParams.containsKey("vnp_ResponseCode") && !queryParams.get("vnp_ResponseCode").equals("00")) {
-            appointment.setAppointmentStatus(AppointmentStatus.CANCELLED);
+            appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.CANCELLED);
         } else {
-            appointment.setAppointmentStatus(AppointmentStatus.CONFIRMED);
+            appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.CONFIRMED);
         }
-
-        appointmentsService.updateAppointment(id, appointment);
         
         String frontendUrl = "http://localhost:3000/customer/payment-return";
         if (queryParams.containsKey("vnp_ResponseCode")) {
@@ -114,9 +112,7 @@ public class AppointmentsController {
         if (appointment.getAppointmentStatus() != AppointmentStatus.CONFIRMED) {
             return ResponseEntity.badRequest().build();
         }
-        appointment.setAppointmentStatus(AppointmentStatus.IN_PROGRESS);
-
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.IN_PROGRESS);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -126,9 +122,7 @@ public class AppointmentsController {
         if (appointment.getAppointmentStatus() != AppointmentStatus.IN_PROGRESS) {
             return ResponseEntity.badRequest().build();
         }
-        appointment.setAppointmentStatus(AppointmentStatus.FINISHED);
-
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.FINISHED);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -139,9 +133,7 @@ public class AppointmentsController {
             appointment.getAppointmentStatus() == AppointmentStatus.FINISHED) {
             return ResponseEntity.badRequest().build();
         }
-        appointment.setAppointmentStatus(AppointmentStatus.CANCELLED);
-
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.CANCELLED);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -171,9 +163,7 @@ public class AppointmentsController {
             return ResponseEntity.badRequest().build();
         }
         
-        appointment.setAppointmentStatus(AppointmentStatus.CONFIRMED);
-
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.CONFIRMED);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -183,9 +173,7 @@ public class AppointmentsController {
         if (appointment.getAppointmentStatus() != AppointmentStatus.BOOKED) {
             return ResponseEntity.badRequest().build();
         }
-        appointment.setAppointmentStatus(AppointmentStatus.CONFIRMED);
-
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.CONFIRMED);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -199,13 +187,9 @@ public class AppointmentsController {
         
         appointment.setCustomerConfirmed(true);
           boolean doctorConfirmed = appointment.getDoctorConfirmed() != null && appointment.getDoctorConfirmed();
-        if (doctorConfirmed) {
-            appointment.setAppointmentStatus(AppointmentStatus.IN_PROGRESS);
-        } else {
-            appointment.setAppointmentStatus(AppointmentStatus.WAITING_FOR_DOCTOR);
-        }
+        AppointmentStatus nextStatus = doctorConfirmed ? AppointmentStatus.IN_PROGRESS : AppointmentStatus.WAITING_FOR_DOCTOR;
 
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, nextStatus);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -220,13 +204,9 @@ public class AppointmentsController {
         appointment.setDoctorConfirmed(true);
         
         boolean customerConfirmed = appointment.getCustomerConfirmed() != null && appointment.getCustomerConfirmed();
-          if (customerConfirmed) {
-            appointment.setAppointmentStatus(AppointmentStatus.IN_PROGRESS);
-        } else {
-            appointment.setAppointmentStatus(AppointmentStatus.WAITING_FOR_CUSTOMER);
-        }
+        AppointmentStatus nextStatus = customerConfirmed ? AppointmentStatus.IN_PROGRESS : AppointmentStatus.WAITING_FOR_CUSTOMER;
 
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, nextStatus);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -237,9 +217,7 @@ public class AppointmentsController {
             return ResponseEntity.badRequest().build();
         }        appointment.setCustomerConfirmed(true);
         appointment.setDoctorConfirmed(true);
-        appointment.setAppointmentStatus(AppointmentStatus.IN_PROGRESS);
-
-        Appointment updatedAppointment = appointmentsService.updateAppointment(id, appointment);
+        Appointment updatedAppointment = appointmentsService.updateAppointmentStatus(id, appointment, AppointmentStatus.IN_PROGRESS);
         return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
     }
 
@@ -12,7 +12,11 @@ import swp391.com.backend.feature.schedule.data.Slot;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_date", columnList = "date"),
+        @Index(name = "idx_appointments_status_date", columnList = "appointment_status, date"),
+        @Index(name = "idx_appointments_doctor_date", columnList = "doctor_id, date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,16 +1,21 @@
 package swp391.com.backend.feature.appointment.data;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import swp391.com.backend.feature.dashboard.data.BucketCount;
+import swp391.com.backend.feature.dashboard.data.DailyRevenueRow;
 import swp391.com.backend.feature.doctor.data.Doctor;
 import swp391.com.backend.feature.schedule.data.Slot;
+import swp391.com.backend.feature.schedule.data.SlotKey;
 import swp391.com.backend.feature.appointment.data.AppointmentStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,6 +30,20 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctor = :doctor AND a.date = :date AND a.slot = :slot AND a.appointmentStatus NOT IN (swp391.com.backend.feature.appointment.data.AppointmentStatus.CANCELLED, swp391.com.backend.feature.appointment.data.AppointmentStatus.FINISHED)")
     boolean existsByDoctorAndDateAndSlotAndNotCancelled(@Param("doctor") Doctor doctor, @Param("date") LocalDate date, @Param("slot") Slot slot);
     
+    @Query("SELECT new swp391.com.backend.feature.schedule.data.SlotKey(a.doctor.id, a.date, a.slot) FROM Appointment a " +
+           "WHERE a.doctor IS NOT NULL AND a.date >= :from AND a.appointmentStatus NOT IN (swp391.com.backend.feature.appointment.data.AppointmentStatus.CANCELLED, swp391.com.backend.feature.appointment.data.AppointmentStatus.FINISHED)")
+    List<SlotKey> findActiveSlotKeysFrom(@Param("from") LocalDate from);
+
+    @Query("SELECT new swp391.com.backend.feature.schedule.data.SlotKey(a.doctor.id, a.date, a.slot) FROM Appointment a " +
+           "WHERE a.doctor.id IN :doctorIds AND a.date BETWEEN :from AND :to")
+    List<SlotKey> findSlotKeysByDoctorIdsAndDateBetween(@Param("doctorIds") Collection<Long> doctorIds,
+                                                         @Param("from") LocalDate from,
+                                                         @Param("to") LocalDate to);
+
+    @Query("SELECT a.slot FROM Appointment a WHERE a.doctor.id = :doctorId AND a.date = :date " +
+           "AND a.appointmentStatus NOT IN (swp391.com.backend.feature.appointment.data.AppointmentStatus.CANCELLED, swp391.com.backend.feature.appointment.data.AppointmentStatus.FINISHED)")
+    List<Slot> findActiveSlotsByDoctorIdAndDate(@Param("doctorId") Long doctorId, @Param("date") LocalDate date);
+
     @Modifying
     @Transactional
     @Query("UPDATE Appointment a SET a.customer = null WHERE a.customer.id = :customerId")
@@ -40,5 +59,52 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctor.id = :doctorId AND a.score IS NOT NULL")
     Long countRatingsByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query("SELECT new swp391.com.backend.feature.dashboard.data.DailyRevenueRow(a.date, SUM(d.price), COUNT(a)) " +
+           "FROM Appointment a JOIN a.doctor d " +
+           "WHERE a.date IS NOT NULL AND d.price IS NOT NULL " +
+           "AND a.appointmentStatus = swp391.com.backend.feature.appointment.data.AppointmentStatus.FINISHED " +
+           "GROUP BY a.date")
+    List<DailyRevenueRow> sumRevenueByDate();
+
+    @Query("SELECT new swp391.com.backend.feature.dashboard.data.DailyRevenueRow(a.date, SUM(d.price), COUNT(a)) " +
+           "FROM Appointment a JOIN a.doctor d " +
+           "WHERE a.date IN :dates AND d.price IS NOT NULL " +
+           "AND a.appointmentStatus = swp391.com.backend.feature.appointment.data.AppointmentStatus.FINISHED " +
+           "GROUP BY a.date")
+    List<DailyRevenueRow> sumRevenueByDate(@Param("dates") Collection<LocalDate> dates);
+
+    @Query("SELECT DISTINCT a.date FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.date IS NOT NULL " +
+           "AND a.appointmentStatus = swp391.com.backend.feature.appointment.data.AppointmentStatus.FINISHED")
+    List<LocalDate> findRevenueDatesByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query(value = "SELECT CASE :granularity " +
+            "WHEN 'DAY' THEN DATE_FORMAT(a.date, '%Y-%m-%d') " +
+            "WHEN 'WEEK' THEN DATE_FORMAT(DATE_SUB(a.date, INTERVAL WEEKDAY(a.date) DAY), '%Y-%m-%d') " +
+            "ELSE DATE_FORMAT(a.date, '%Y-%m-01') END AS bucket, " +
+            "COUNT(*) AS total " +
+            "FROM appointments a " +
+            "WHERE a.date BETWEEN :from AND :to " +
+            "GROUP BY bucket ORDER BY bucket",
+            nativeQuery = true)
+    List<BucketCount> countByDateBucket(@Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("granularity") String granularity);
+
+    @Query("SELECT a.appointmentStatus AS status, COUNT(a) AS total, " +
+           "SUM(CASE WHEN a.date = :date THEN 1 ELSE 0 END) AS onDate " +
+           "FROM Appointment a GROUP BY a.appointmentStatus")
+    List<AppointmentStatusCount> countByStatus(@Param("date") LocalDate date);
+
+    @Query("SELECT a FROM Appointment a " +
+           "LEFT JOIN FETCH a.customer " +
+           "LEFT JOIN FETCH a.doctor " +
+           "WHERE a.date > :since AND (a.date < :beforeDate OR (a.date = :beforeDate AND a.id < :beforeId)) " +
+           "ORDER BY a.date DESC, a.id DESC")
+    List<Appointment> findActivityPage(@Param("since") LocalDate since,
+                                       @Param("beforeDate") LocalDate beforeDate,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
 }
 
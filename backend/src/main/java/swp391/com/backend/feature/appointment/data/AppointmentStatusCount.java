@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.appointment.data;
+
+public interface AppointmentStatusCount {
+    AppointmentStatus getStatus();
+    Long getTotal();
+    Long getOnDate();
+}
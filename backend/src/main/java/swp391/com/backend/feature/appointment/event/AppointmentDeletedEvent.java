@@ -0,0 +1,5 @@
+package swp391.com.backend.feature.appointment.event;
+
+import swp391.com.backend.feature.appointment.data.Appointment;
+
+public record AppointmentDeletedEvent(Appointment appointment) {}
@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.appointment.event;
+
+import swp391.com.backend.feature.appointment.data.Appointment;
+import swp391.com.backend.feature.appointment.data.AppointmentStatus;
+
+public record AppointmentStatusChangedEvent(Appointment appointment, AppointmentStatus previousStatus) {}
@@ -1,10 +1,14 @@
 package swp391.com.backend.feature.appointment.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.appointment.data.Appointment;
 import swp391.com.backend.feature.appointment.data.AppointmentRepository;
+import swp391.com.backend.feature.appointment.data.AppointmentStatus;
+import swp391.com.backend.feature.appointment.event.AppointmentDeletedEvent;
+import swp391.com.backend.feature.appointment.event.AppointmentStatusChangedEvent;
 import swp391.com.backend.feature.appointment.exception.AppointmentConflictException;
 import swp391.com.backend.feature.doctor.service.DoctorService;
 import swp391.com.backend.feature.doctor.data.Doctor;
@@ -13,11 +17,9 @@ import swp391.com.backend.common.util.AuthenticationUtil;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
-import swp391.com.backend.feature.schedule.data.ScheduleRepository;
-import swp391.com.backend.feature.schedule.data.Schedule;
+import swp391.com.backend.feature.schedule.service.DoctorAvailabilityIndex;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +27,8 @@ public class AppointmentsService {
     private final AppointmentRepository appointmentRepository;
     private final DoctorService doctorService;
     private final AuthenticationUtil authenticationUtil;
-    private final ScheduleRepository scheduleRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
@@ -42,15 +45,20 @@ public class AppointmentsService {
         return appointmentRepository.findAppointmentsByDoctorId(doctorId);
     }
 
+    @Transactional
     public void deleteAppointment(Long id) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
         appointmentRepository.delete(appointment);
+        refreshAvailability(appointment.getDoctor(), appointment.getDate());
+        eventPublisher.publishEvent(new AppointmentDeletedEvent(appointment));
     }
     @Transactional
     public Appointment createAppointment(Appointment appointment) {
         validateAppointmentConflict(appointment);
-        return appointmentRepository.save(appointment);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+        refreshAvailability(savedAppointment.getDoctor(), savedAppointment.getDate());
+        return savedAppointment;
     }
 
     public Appointment updateAppointment(Long id, Appointment appointment) {
@@ -63,11 +71,36 @@ public class AppointmentsService {
             validateAppointmentConflict(appointment);
         }
 
+        Doctor previousDoctor = existingAppointment.getDoctor();
+        LocalDate previousDate = existingAppointment.getDate();
         existingAppointment.setDate(appointment.getDate());
         existingAppointment.setSlot(appointment.getSlot());
         existingAppointment.setDoctor(doctorService.findDoctorById(appointment.getDoctor().getId()));
-        return appointmentRepository.save(existingAppointment);
+        Appointment savedAppointment = appointmentRepository.save(existingAppointment);
+        refreshAvailability(previousDoctor, previousDate);
+        refreshAvailability(savedAppointment.getDoctor(), savedAppointment.getDate());
+        return savedAppointment;
+    }
+
+    // Callers that move an appointment themselves (e.g. reschedules) report the day it left.
+    public void refreshAvailability(Doctor doctor, LocalDate date) {
+        if (doctor != null) {
+            availabilityIndex.refreshBooked(doctor.getId(), date);
+        }
     }
+
+    @Transactional
+    public Appointment updateAppointmentStatus(Long id, Appointment appointment, AppointmentStatus status) {
+        AppointmentStatus previousStatus = appointment.getAppointmentStatus();
+        appointment.setAppointmentStatus(status);
+
+        Appointment updatedAppointment = updateAppointment(id, appointment);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(new AppointmentStatusChangedEvent(updatedAppointment, previousStatus));
+        }
+        return updatedAppointment;
+    }
+
     public Appointment findAppointmentById(Long id) {
         return appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
@@ -93,14 +126,7 @@ public class AppointmentsService {
         Doctor doctor = doctorService.findDoctorById(doctorId);
         LocalDate date = LocalDate.parse(dateString, DateTimeFormatter.ISO_LOCAL_DATE);
         
-        List<Slot> scheduledSlots = scheduleRepository.findByDoctorAndDate(doctor, date)
-            .stream()
-            .map(Schedule::getSlot)
-            .collect(Collectors.toList());
-        return Arrays.stream(Slot.values())
-            .filter(slot -> !slot.equals(Slot.ZERO))
-            .filter(slot -> scheduledSlots.contains(slot))
-            .filter(slot -> !appointmentRepository.existsByDoctorAndDateAndSlotAndNotCancelled(doctor, date, slot))
+        return availabilityIndex.availableSlots(doctor.getId(), date).stream()
             .map(Slot::getTimeRange)
             .collect(Collectors.toList());
     }
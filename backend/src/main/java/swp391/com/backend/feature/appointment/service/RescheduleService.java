@@ -9,6 +9,7 @@ import swp391.com.backend.feature.appointment.dto.RescheduleStatus;
 import swp391.com.backend.feature.customer.service.CustomerService;
 import swp391.com.backend.feature.doctor.service.DoctorService;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -111,12 +112,13 @@ public class RescheduleService {
         rescheduleOptionRepository.save(selectedOption);
 
         Appointment appointment = rescheduleRequest.getAppointment();
+        LocalDate previousDate = appointment.getDate();
         appointment.setDate(selectedOption.getDate());
         appointment.setSlot(selectedOption.getSlot());
-        appointment.setAppointmentStatus(AppointmentStatus.CONFIRMED); // Reset về confirmed sau khi reschedule
         appointment.setCustomerConfirmed(false);
         appointment.setDoctorConfirmed(false);
-        appointmentsService.updateAppointment(appointment.getId(), appointment);
+        appointmentsService.updateAppointmentStatus(appointment.getId(), appointment, AppointmentStatus.CONFIRMED); // Reset về confirmed sau khi reschedule
+        appointmentsService.refreshAvailability(appointment.getDoctor(), previousDate);
 
         rescheduleRequest.setStatus(RescheduleStatus.APPROVED);
         return rescheduleRequestRepository.save(rescheduleRequest);
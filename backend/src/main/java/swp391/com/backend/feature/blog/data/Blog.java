@@ -12,7 +12,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = @Index(name = "idx_blogs_created_at", columnList = "created_at"))
 @Data
 @Builder
 @AllArgsConstructor
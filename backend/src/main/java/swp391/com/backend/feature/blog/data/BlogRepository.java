@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +48,14 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
                                    Pageable pageable);
     
     boolean existsBySlug(String slug);
+
+    @Query("SELECT b FROM Blog b " +
+           "WHERE b.createdAt > :since AND (b.createdAt < :before OR (b.createdAt = :before AND b.id < :beforeId)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Blog> findActivityPage(@Param("since") LocalDateTime since,
+                                @Param("before") LocalDateTime before,
+                                @Param("beforeId") Long beforeId,
+                                Pageable pageable);
     
     @Modifying
     @Transactional
@@ -1,17 +1,29 @@
 package swp391.com.backend.feature.cycle.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import swp391.com.backend.feature.cycle.dto.CycleCalendarDTO;
 import swp391.com.backend.feature.cycle.dto.CycleDTO;
 import swp391.com.backend.feature.cycle.dto.CycleCreationRequest;
+import swp391.com.backend.feature.cycle.dto.CycleImportResultDTO;
 import swp391.com.backend.feature.cycle.mapper.CycleMapper;
 import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.service.CycleCalendarService;
+import swp391.com.backend.feature.cycle.service.CycleImportService;
+import swp391.com.backend.feature.cycle.service.CyclePrediction;
 import swp391.com.backend.feature.cycle.service.CycleService;
+import swp391.com.backend.feature.cycleSymptomByDate.data.CycleSymptomByDate;
+import swp391.com.backend.feature.cycleSymptomByDate.mapper.CycleSymptomByDateMapper;
+import swp391.com.backend.feature.cycleSymptomByDate.service.CycleSymptomByDateService;
 import swp391.com.backend.common.util.AuthenticationUtil;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Controller
@@ -20,7 +32,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CycleController {
     private final CycleService cycleService;
+    private final CycleCalendarService cycleCalendarService;
+    private final CycleImportService cycleImportService;
     private final CycleMapper cycleMapper;
+    private final CycleSymptomByDateService cycleSymptomByDateService;
+    private final CycleSymptomByDateMapper cycleSymptomByDateMapper;
     private final AuthenticationUtil authenticationUtil;
 
     @PostMapping
@@ -35,12 +51,17 @@ public class CycleController {
         Cycle predictedCycle = cycleService.cyclePrediction(cycle);
         Cycle createdCycle = cycleService.createCycleForCustomer(predictedCycle, customerId);
 
-        return ResponseEntity.ok(cycleMapper.toDTO(createdCycle));
+        return ResponseEntity.ok(toDTOWithSymptoms(createdCycle));
     }
 
     @PostMapping("/next-prediction")
     public ResponseEntity<CycleDTO> nextCyclePrediction() {
-        Cycle predictedCycle = cycleService.nextCyclePrediction();
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+
+        CyclePrediction predictedCycle = cycleService.nextCyclePrediction(customerId);
+        if (predictedCycle == null) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok(cycleMapper.toDTO(predictedCycle));
     }
 
@@ -49,8 +70,9 @@ public class CycleController {
         Long customerId = authenticationUtil.getCurrentCustomerId();
         
         List<Cycle> cycles = cycleService.getCyclesByCustomer(customerId);
+        Map<Long, List<CycleSymptomByDate>> symptomsByCycle = cycleSymptomByDateService.getSymptomsByCycleForCustomer(customerId);
         List<CycleDTO> cycleDTOs = cycles.stream()
-                .map(cycleMapper::toDTO)
+                .map(cycle -> withSymptoms(cycleMapper.toDTO(cycle), symptomsByCycle.getOrDefault(cycle.getId(), List.of())))
                 .collect(Collectors.toList());
         return ResponseEntity.ok(cycleDTOs);
     }
@@ -60,21 +82,53 @@ public class CycleController {
         Long customerId = authenticationUtil.getCurrentCustomerId();
         
         Cycle closestCycle = cycleService.getClosestCycleByCustomer(customerId);
-        return ResponseEntity.ok(cycleMapper.toDTO(closestCycle));
+        return ResponseEntity.ok(closestCycle != null ? toDTOWithSymptoms(closestCycle) : null);
     }
 
     @GetMapping("/predict/{year}/{month}")
     public ResponseEntity<CycleDTO> predictCycleForMonth(
             @PathVariable int year,
-            @PathVariable int month,
-            @RequestParam(defaultValue = "3") Long customerId) {
-        Cycle predictedCycle = cycleService.cyclePredictionForMonth(year, month, customerId);
+            @PathVariable int month) {
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+        CyclePrediction predictedCycle = cycleService.cyclePredictionForMonth(year, month, customerId);
         if (predictedCycle == null) {
             return ResponseEntity.notFound().build();
         }
         return ResponseEntity.ok(cycleMapper.toDTO(predictedCycle));
     }
 
+    @GetMapping("/projection")
+    public ResponseEntity<List<CycleDTO>> projectCycles(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "12") int months) {
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+
+        List<CycleDTO> projection = cycleService.projectCycles(year, month, months, customerId).stream()
+                .map(cycleMapper::toDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(projection);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<CycleImportResultDTO> importCycles(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+
+        CycleImportResultDTO result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? cycleImportService.importJson(body, customerId)
+                : cycleImportService.importCsv(body, customerId);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<CycleCalendarDTO> getCalendar(@RequestParam int year, @RequestParam int month) {
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+
+        return ResponseEntity.ok(cycleCalendarService.getMonth(year, month, customerId));
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> deleteAllCycles() {
         Long customerId = authenticationUtil.getCurrentCustomerId();
@@ -82,5 +136,16 @@ public class CycleController {
         cycleService.deleteAllCyclesForCustomer(customerId);
         return ResponseEntity.ok().build();
     }
-}
 
+    // Symptoms always come from CycleSymptomByDateService: in BITMASK mode the Cycle.cycleSymptomByDate relation is empty.
+    private CycleDTO toDTOWithSymptoms(Cycle cycle) {
+        return withSymptoms(cycleMapper.toDTO(cycle), cycleSymptomByDateService.getSymptomsByCycle(cycle.getId()));
+    }
+
+    private CycleDTO withSymptoms(CycleDTO dto, List<CycleSymptomByDate> symptoms) {
+        dto.setCycleSymptomByDate(symptoms.stream()
+                .map(cycleSymptomByDateMapper::toDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+}
@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.cycle.data;
+
+public enum BatchStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -12,7 +12,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "cycles")
+@Table(name = "cycles", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_cycles_customer_start", columnNames = {"customer_id", "cycle_start_date"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,17 +1,50 @@
 package swp391.com.backend.feature.cycle.data;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CycleRepository extends JpaRepository<Cycle, Long> {
     @Modifying
     @Transactional
     @Query("UPDATE Cycle c SET c.customer = null WHERE c.customer.id = :customerId")
     void updateCustomerToNullByCustomerId(@Param("customerId") Long customerId);
-}
 
+    List<Cycle> findByCustomerIdOrderByCycleStartDateAsc(Long customerId);
+
+    // Locking read: sees cycles committed after the transaction's snapshot, which a statistics rebuild must include.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Cycle c WHERE c.customer.id = :customerId ORDER BY c.cycleStartDate ASC")
+    List<Cycle> findCurrentByCustomerId(@Param("customerId") Long customerId);
+
+    List<Cycle> findByCustomerIdOrderByCycleStartDateDesc(Long customerId, Pageable pageable);
+
+    Optional<Cycle> findFirstByCustomerIdAndCycleStartDateLessThanEqualOrderByCycleStartDateDesc(Long customerId, LocalDate date);
+
+    boolean existsByCustomerIdAndCycleStartDate(Long customerId, LocalDate cycleStartDate);
+
+    @Query("SELECT c.cycleStartDate FROM Cycle c WHERE c.customer.id = :customerId")
+    List<LocalDate> findCycleStartDatesByCustomerId(@Param("customerId") Long customerId);
+
+    List<Cycle> findByCustomerIdAndCycleStartDateBetweenOrderByCycleStartDateAsc(Long customerId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Cycle c WHERE c.customer.id = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT DISTINCT c.customer.id FROM Cycle c WHERE c.customer IS NOT NULL " +
+           "AND NOT EXISTS (SELECT s FROM CycleStatistics s WHERE s.customerId = c.customer.id)")
+    List<Long> findCustomerIdsWithoutStatistics();
+}
@@ -0,0 +1,52 @@
+package swp391.com.backend.feature.cycle.data;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cycle_statistics")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleStatistics {
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "length_count")
+    private long lengthCount;
+
+    @Column(name = "length_mean")
+    private double lengthMean;
+
+    @Column(name = "length_m2")
+    private double lengthM2;
+
+    @Column(name = "length_ewma")
+    private double lengthEwma;
+
+    @Column(name = "duration_count")
+    private long durationCount;
+
+    @Column(name = "duration_mean")
+    private double durationMean;
+
+    @Column(name = "duration_m2")
+    private double durationM2;
+
+    @Column(name = "duration_ewma")
+    private double durationEwma;
+
+    @Column(name = "last_cycle_start")
+    private LocalDate lastCycleStart;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package swp391.com.backend.feature.cycle.data;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CycleStatisticsRepository extends JpaRepository<CycleStatistics, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CycleStatistics s WHERE s.customerId = :customerId")
+    Optional<CycleStatistics> findForUpdate(@Param("customerId") Long customerId);
+
+    // Gives findForUpdate a row to lock even for a customer's first cycle; a concurrent insert waits instead of failing.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO cycle_statistics (customer_id, length_count, length_mean, length_m2, length_ewma, " +
+            "duration_count, duration_mean, duration_m2, duration_ewma) VALUES (:customerId, 0, 0, 0, 0, 0, 0, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE customer_id = customer_id",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("customerId") Long customerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CycleStatistics s WHERE s.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT s FROM CycleStatistics s WHERE s.customerId > :afterCustomerId ORDER BY s.customerId")
+    List<CycleStatistics> findChunkAfter(@Param("afterCustomerId") Long afterCustomerId, Pageable pageable);
+}
@@ -0,0 +1,60 @@
+package swp391.com.backend.feature.cycle.data;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cycle_predictions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_cycle_predictions_customer_sequence", columnNames = {"customer_id", "sequence_no"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrecomputedCyclePrediction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "sequence_no", nullable = false)
+    private Integer sequenceNo;
+
+    @Column(name = "cycle_start_date")
+    private LocalDate cycleStartDate;
+
+    @Column(name = "cycle_length")
+    private Integer cycleLength;
+
+    @Column(name = "period_duration")
+    private Integer periodDuration;
+
+    @Column(name = "ovulation_date")
+    private LocalDate ovulationDate;
+
+    @Column(name = "fertility_window_start")
+    private LocalDate fertilityWindowStart;
+
+    @Column(name = "fertility_window_end")
+    private LocalDate fertilityWindowEnd;
+
+    @Column(name = "start_date_low")
+    private LocalDate startDateLow;
+
+    @Column(name = "start_date_high")
+    private LocalDate startDateHigh;
+
+    @Column(name = "cycle_length_std_dev")
+    private Double cycleLengthStdDev;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+}
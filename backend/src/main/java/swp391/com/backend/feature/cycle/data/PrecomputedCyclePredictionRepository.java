@@ -0,0 +1,20 @@
+package swp391.com.backend.feature.cycle.data;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PrecomputedCyclePredictionRepository extends JpaRepository<PrecomputedCyclePrediction, Long> {
+    List<PrecomputedCyclePrediction> findByCustomerIdOrderBySequenceNoAsc(Long customerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PrecomputedCyclePrediction p WHERE p.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+}
@@ -0,0 +1,15 @@
+package swp391.com.backend.feature.cycle.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One month of calendar states. {@code days[i]} describes {@code firstDay + i}: the low bits hold the
+ * day flags below and the bits from {@link #SYMPTOM_SHIFT} up hold one bit per symptom ordinal.
+ */
+public record CycleCalendarDTO(LocalDate firstDay, int[] days) {
+    public static final int PERIOD = 1;
+    public static final int FERTILE = 1 << 1;
+    public static final int OVULATION = 1 << 2;
+    public static final int PREDICTED = 1 << 3;
+    public static final int SYMPTOM_SHIFT = 4;
+}
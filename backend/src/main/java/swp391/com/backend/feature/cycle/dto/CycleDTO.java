@@ -19,5 +19,8 @@ public class CycleDTO{
     LocalDate fertilityWindowStart;
     LocalDate fertilityWindowEnd;
     List<CycleSymptomByDateDTO> cycleSymptomByDate;
+    LocalDate startDateLow;
+    LocalDate startDateHigh;
+    Double cycleLengthStdDev;
 }
 
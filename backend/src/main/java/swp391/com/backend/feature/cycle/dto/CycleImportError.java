@@ -0,0 +1,4 @@
+package swp391.com.backend.feature.cycle.dto;
+
+public record CycleImportError(int row, String message) {
+}
@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.cycle.dto;
+
+import java.util.List;
+
+public record CycleImportResultDTO(int totalRows, int imported, int duplicates, int rejected, int symptoms,
+                                   List<CycleImportError> errors) {
+}
@@ -0,0 +1,12 @@
+package swp391.com.backend.feature.cycle.dto;
+
+import swp391.com.backend.feature.cycleSymptomByDate.data.Symptom;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CycleImportRow(LocalDate startDate, Integer cycleLength, Integer periodDuration,
+                             List<SymptomEntry> symptoms) {
+    public record SymptomEntry(LocalDate date, Symptom symptom) {
+    }
+}
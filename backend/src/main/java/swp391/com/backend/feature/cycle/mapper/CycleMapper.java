@@ -1,13 +1,27 @@
 package swp391.com.backend.feature.cycle.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import swp391.com.backend.feature.cycle.dto.CycleDTO;
 import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.service.CyclePrediction;
 import swp391.com.backend.feature.cycleSymptomByDate.mapper.CycleSymptomByDateMapper;
 
 @Mapper(componentModel = "spring", uses = {CycleSymptomByDateMapper.class})
 public interface CycleMapper {
+    @Mapping(target = "startDateLow", ignore = true)
+    @Mapping(target = "startDateHigh", ignore = true)
+    @Mapping(target = "cycleLengthStdDev", ignore = true)
+    @Mapping(target = "cycleSymptomByDate", ignore = true)
     CycleDTO toDTO(Cycle cycle);
     Cycle toEntity(CycleDTO cycleDTO);
+
+    default CycleDTO toDTO(CyclePrediction prediction) {
+        CycleDTO dto = toDTO(prediction.cycle());
+        dto.setStartDateLow(prediction.startDateLow());
+        dto.setStartDateHigh(prediction.startDateHigh());
+        dto.setCycleLengthStdDev(prediction.cycleLengthStdDev());
+        return dto;
+    }
 }
 
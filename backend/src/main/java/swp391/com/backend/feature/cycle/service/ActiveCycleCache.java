@@ -0,0 +1,39 @@
+package swp391.com.backend.feature.cycle.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Latest cycle per customer; it owns every date from its start onwards, which is where almost all symptom logging lands.
+@Component
+public class ActiveCycleCache {
+    private final Map<Long, ActiveCycle> activeCycles = new ConcurrentHashMap<>();
+
+    public record ActiveCycle(Long cycleId, LocalDate startDate) {
+    }
+
+    // A loader returning null caches nothing; a remove racing the load waits for it and then drops its result.
+    public ActiveCycle get(Long customerId, Function<Long, ActiveCycle> loader) {
+        return activeCycles.computeIfAbsent(customerId, loader);
+    }
+
+    public void invalidate(Long customerId) {
+        if (customerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activeCycles.remove(customerId);
+                }
+            });
+        }
+        activeCycles.remove(customerId);
+    }
+}
@@ -0,0 +1,77 @@
+package swp391.com.backend.feature.cycle.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.data.CycleRepository;
+import swp391.com.backend.feature.cycle.dto.CycleCalendarDTO;
+import swp391.com.backend.feature.cycleSymptomByDate.data.SymptomMask;
+import swp391.com.backend.feature.cycleSymptomByDate.service.CycleSymptomByDateService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class CycleCalendarService {
+    // A cycle that started this long before the month can still have fertile or period days inside it.
+    private static final int LOOKBACK_DAYS = 60;
+
+    private final CycleRepository cycleRepository;
+    private final CycleSymptomByDateService cycleSymptomByDateService;
+    private final CycleService cycleService;
+
+    public CycleCalendarDTO getMonth(int year, int month, Long customerId) {
+        YearMonth yearMonth = CycleService.toYearMonth(year, month);
+        LocalDate firstDay = yearMonth.atDay(1);
+        LocalDate lastDay = yearMonth.atEndOfMonth();
+        int[] days = new int[yearMonth.lengthOfMonth()];
+
+        for (Cycle cycle : cycleRepository.findByCustomerIdAndCycleStartDateBetweenOrderByCycleStartDateAsc(
+                customerId, firstDay.minusDays(LOOKBACK_DAYS), lastDay)) {
+            mark(days, firstDay, cycle, 0);
+        }
+
+        Optional<CyclePredictionModel> model = cycleService.getPredictionModel(customerId);
+        if (model.isPresent()) {
+            YearMonth previousMonth = yearMonth.minusMonths(1);
+            for (CyclePrediction prediction : cycleService.projectCycles(
+                    previousMonth.getYear(), previousMonth.getMonthValue(), 2, customerId)) {
+                if (prediction.cycle().getCycleStartDate().isAfter(model.get().lastCycleStart())) {
+                    mark(days, firstDay, prediction.cycle(), CycleCalendarDTO.PREDICTED);
+                }
+            }
+        }
+
+        cycleSymptomByDateService.getSymptomsBetween(customerId, firstDay, lastDay).forEach((date, symptoms) ->
+                days[(int) ChronoUnit.DAYS.between(firstDay, date)] |= SymptomMask.of(symptoms) << CycleCalendarDTO.SYMPTOM_SHIFT);
+
+        return new CycleCalendarDTO(firstDay, days);
+    }
+
+    private void mark(int[] days, LocalDate firstDay, Cycle cycle, int extraFlags) {
+        LocalDate start = cycle.getCycleStartDate();
+        if (start != null && cycle.getPeriodDuration() != null) {
+            markRange(days, firstDay, start, start.plusDays(cycle.getPeriodDuration() - 1L),
+                    CycleCalendarDTO.PERIOD | extraFlags);
+        }
+        if (cycle.getFertilityWindowStart() != null && cycle.getFertilityWindowEnd() != null) {
+            markRange(days, firstDay, cycle.getFertilityWindowStart(), cycle.getFertilityWindowEnd(),
+                    CycleCalendarDTO.FERTILE | extraFlags);
+        }
+        if (cycle.getOvulationDate() != null) {
+            markRange(days, firstDay, cycle.getOvulationDate(), cycle.getOvulationDate(),
+                    CycleCalendarDTO.OVULATION | extraFlags);
+        }
+    }
+
+    private void markRange(int[] days, LocalDate firstDay, LocalDate from, LocalDate to, int flags) {
+        long start = Math.max(0, ChronoUnit.DAYS.between(firstDay, from));
+        long end = Math.min(days.length - 1L, ChronoUnit.DAYS.between(firstDay, to));
+        for (long i = start; i <= end; i++) {
+            days[(int) i] |= flags;
+        }
+    }
+}
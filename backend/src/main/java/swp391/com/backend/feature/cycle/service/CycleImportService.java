@@ -0,0 +1,281 @@
+package swp391.com.backend.feature.cycle.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import swp391.com.backend.feature.customer.service.CustomerService;
+import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.data.CycleRepository;
+import swp391.com.backend.feature.cycle.data.PrecomputedCyclePredictionRepository;
+import swp391.com.backend.feature.cycle.dto.CycleImportError;
+import swp391.com.backend.feature.cycle.dto.CycleImportResultDTO;
+import swp391.com.backend.feature.cycle.dto.CycleImportRow;
+import swp391.com.backend.feature.cycleSymptomByDate.data.Symptom;
+import swp391.com.backend.feature.cycleSymptomByDate.data.SymptomMask;
+import swp391.com.backend.feature.cycleSymptomByDate.service.CycleSymptomByDateService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class CycleImportService {
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_ROWS = 50_000;
+    private static final int MAX_REPORTED_ERRORS = 500;
+    private static final int MIN_CYCLE_LENGTH = 15;
+    private static final int MAX_CYCLE_LENGTH = 90;
+    private static final int MAX_PERIOD_DURATION = 20;
+
+    private static final String INSERT_CYCLE_SQL =
+            "INSERT IGNORE INTO cycles (customer_id, cycle_start_date, cycle_length, period_duration, ovulation_date," +
+            " fertility_window_start, fertility_window_end) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SYMPTOM_SQL =
+            "INSERT INTO cycle_symptom_by_date (cycle_id, date, symptom) VALUES (?, ?, ?)";
+    private static final String UPSERT_SYMPTOM_LOG_SQL =
+            "INSERT INTO daily_symptom_logs (customer_id, log_date, cycle_id, symptom_mask) VALUES (?, ?, ?, ?)" +
+            " ON DUPLICATE KEY UPDATE symptom_mask = symptom_mask | VALUES(symptom_mask)";
+
+    private final CycleRepository cycleRepository;
+    private final CycleService cycleService;
+    private final CycleStatisticsService cycleStatisticsService;
+    private final CyclePredictionCache cyclePredictionCache;
+    private final ActiveCycleCache activeCycleCache;
+    private final PrecomputedCyclePredictionRepository precomputedCyclePredictionRepository;
+    private final CustomerService customerService;
+    private final CycleSymptomByDateService cycleSymptomByDateService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public CycleImportResultDTO importCsv(InputStream input, Long customerId) {
+        ImportRun run = new ImportRun(customerId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || (run.rowNumber == 0 && line.startsWith("startDate"))) {
+                    continue;
+                }
+                String current = line;
+                run.accept(() -> parseCsvLine(current));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    @Transactional
+    public CycleImportResultDTO importJson(InputStream input, Long customerId) {
+        ImportRun run = new ImportRun(customerId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of cycles");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = objectMapper.readTree(parser);
+                run.accept(() -> objectMapper.treeToValue(node, CycleImportRow.class));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON import: " + e.getMessage());
+        }
+        return run.finish();
+    }
+
+    // Format: startDate,cycleLength,periodDuration[,date:SYMPTOM;date:SYMPTOM...]
+    private CycleImportRow parseCsvLine(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length < 3) {
+            throw new IllegalArgumentException("Expected startDate,cycleLength,periodDuration[,symptoms]");
+        }
+        List<CycleImportRow.SymptomEntry> symptoms = new ArrayList<>();
+        if (fields.length > 3 && !fields[3].isBlank()) {
+            for (String entry : fields[3].split(";")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Symptom entries must be date:SYMPTOM");
+                }
+                symptoms.add(new CycleImportRow.SymptomEntry(
+                        LocalDate.parse(parts[0].trim()), Symptom.valueOf(parts[1].trim().toUpperCase())));
+            }
+        }
+        return new CycleImportRow(LocalDate.parse(fields[0].trim()),
+                Integer.valueOf(fields[1].trim()), Integer.valueOf(fields[2].trim()), symptoms);
+    }
+
+    private String validate(CycleImportRow row) {
+        if (row.startDate() == null) {
+            return "startDate is required";
+        }
+        if (row.startDate().isAfter(LocalDate.now())) {
+            return "startDate must not be in the future";
+        }
+        if (row.cycleLength() == null || row.cycleLength() < MIN_CYCLE_LENGTH || row.cycleLength() > MAX_CYCLE_LENGTH) {
+            return "cycleLength must be between " + MIN_CYCLE_LENGTH + " and " + MAX_CYCLE_LENGTH;
+        }
+        if (row.periodDuration() == null || row.periodDuration() < 1 || row.periodDuration() > MAX_PERIOD_DURATION
+                || row.periodDuration() > row.cycleLength()) {
+            return "periodDuration must be between 1 and " + MAX_PERIOD_DURATION + " and not exceed cycleLength";
+        }
+        if (row.symptoms() != null) {
+            LocalDate cycleEnd = row.startDate().plusDays(row.cycleLength() - 1);
+            for (CycleImportRow.SymptomEntry symptom : row.symptoms()) {
+                if (symptom == null || symptom.date() == null || symptom.symptom() == null) {
+                    return "symptoms need both date and symptom";
+                }
+                if (symptom.date().isBefore(row.startDate()) || symptom.date().isAfter(cycleEnd)) {
+                    return "symptom date " + symptom.date() + " is outside the cycle " + row.startDate() + " to " + cycleEnd;
+                }
+            }
+        }
+        return null;
+    }
+
+    private interface RowParser {
+        CycleImportRow parse() throws Exception;
+    }
+
+    // One import: validates and deduplicates rows as they stream in and flushes them in JDBC batches.
+    private final class ImportRun {
+        private final Long customerId;
+        private final Set<LocalDate> seenStartDates;
+        private final List<Cycle> pending = new ArrayList<>(BATCH_SIZE);
+        private final Map<LocalDate, Set<CycleImportRow.SymptomEntry>> pendingSymptoms = new HashMap<>();
+        private final List<CycleImportError> errors = new ArrayList<>();
+        private int rowNumber;
+        private int imported;
+        private int duplicates;
+        private int symptoms;
+        private int rejected;
+
+        private ImportRun(Long customerId) {
+            this.customerId = customerId;
+            customerService.findCustomerById(customerId);
+            this.seenStartDates = new HashSet<>(cycleRepository.findCycleStartDatesByCustomerId(customerId));
+        }
+
+        private void accept(RowParser parser) {
+            rowNumber++;
+            if (rowNumber > MAX_ROWS) {
+                throw new IllegalArgumentException("Import is limited to " + MAX_ROWS + " rows");
+            }
+            CycleImportRow row;
+            try {
+                row = parser.parse();
+            } catch (Exception e) {
+                reject("Unparseable row: " + e.getMessage());
+                return;
+            }
+            String error = validate(row);
+            if (error != null) {
+                reject(error);
+                return;
+            }
+            if (!seenStartDates.add(row.startDate())) {
+                duplicates++;
+                return;
+            }
+
+            pending.add(cycleService.cyclePrediction(Cycle.builder()
+                    .cycleStartDate(row.startDate())
+                    .cycleLength(row.cycleLength())
+                    .periodDuration(row.periodDuration())
+                    .build()));
+            if (row.symptoms() != null && !row.symptoms().isEmpty()) {
+                pendingSymptoms.put(row.startDate(), new LinkedHashSet<>(row.symptoms()));
+            }
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CycleImportError(rowNumber, message));
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Object[]> cycleRows = new ArrayList<>(pending.size());
+            LocalDate from = pending.get(0).getCycleStartDate();
+            LocalDate to = from;
+            for (Cycle cycle : pending) {
+                cycleRows.add(new Object[]{customerId, Date.valueOf(cycle.getCycleStartDate()), cycle.getCycleLength(),
+                        cycle.getPeriodDuration(), Date.valueOf(cycle.getOvulationDate()),
+                        Date.valueOf(cycle.getFertilityWindowStart()), Date.valueOf(cycle.getFertilityWindowEnd())});
+                from = cycle.getCycleStartDate().isBefore(from) ? cycle.getCycleStartDate() : from;
+                to = cycle.getCycleStartDate().isAfter(to) ? cycle.getCycleStartDate() : to;
+            }
+            // A start date a concurrent writer took first is skipped by INSERT IGNORE; the batch may report SUCCESS_NO_INFO.
+            for (int count : jdbcTemplate.batchUpdate(INSERT_CYCLE_SQL, cycleRows)) {
+                if (count == 0) {
+                    duplicates++;
+                } else {
+                    imported += count > 0 ? count : 1;
+                }
+            }
+
+            if (!pendingSymptoms.isEmpty()) {
+                // (customer_id, cycle_start_date) is unique, so a start date identifies the cycle's id.
+                Map<LocalDate, Long> idsByStart = new HashMap<>();
+                jdbcTemplate.query("SELECT id, cycle_start_date FROM cycles WHERE customer_id = ? AND cycle_start_date BETWEEN ? AND ?",
+                        rs -> {
+                            idsByStart.put(rs.getDate(2).toLocalDate(), rs.getLong(1));
+                        },
+                        customerId, Date.valueOf(from), Date.valueOf(to));
+                List<Object[]> symptomRows = new ArrayList<>();
+                if (cycleSymptomByDateService.isCompactStorage()) {
+                    pendingSymptoms.forEach((start, entries) -> {
+                        Map<LocalDate, Integer> masks = new HashMap<>();
+                        entries.forEach(entry -> masks.merge(entry.date(), SymptomMask.bit(entry.symptom()), (a, b) -> a | b));
+                        masks.forEach((date, mask) -> symptomRows.add(new Object[]{
+                                customerId, Date.valueOf(date), idsByStart.get(start), mask}));
+                    });
+                    jdbcTemplate.batchUpdate(UPSERT_SYMPTOM_LOG_SQL, symptomRows);
+                } else {
+                    pendingSymptoms.forEach((start, entries) -> entries.forEach(entry -> symptomRows.add(new Object[]{
+                            idsByStart.get(start), Timestamp.valueOf(entry.date().atStartOfDay()), entry.symptom().name()})));
+                    jdbcTemplate.batchUpdate(INSERT_SYMPTOM_SQL, symptomRows);
+                }
+                symptoms += pendingSymptoms.values().stream().mapToInt(Set::size).sum();
+            }
+
+            pending.clear();
+            pendingSymptoms.clear();
+        }
+
+        private CycleImportResultDTO finish() {
+            flush();
+            if (imported > 0) {
+                cycleStatisticsService.rebuild(customerId);
+                precomputedCyclePredictionRepository.deleteByCustomerId(customerId);
+                cyclePredictionCache.invalidate(customerId);
+                activeCycleCache.invalidate(customerId);
+            }
+            return new CycleImportResultDTO(rowNumber, imported, duplicates, rejected, symptoms, errors);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.cycle.service;
+
+import swp391.com.backend.feature.cycle.data.Cycle;
+
+import java.time.LocalDate;
+
+public record CyclePrediction(Cycle cycle, LocalDate startDateLow, LocalDate startDateHigh, double cycleLengthStdDev) {}
@@ -0,0 +1,230 @@
+package swp391.com.backend.feature.cycle.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import swp391.com.backend.feature.cycle.data.BatchCheckpoint;
+import swp391.com.backend.feature.cycle.data.BatchCheckpointRepository;
+import swp391.com.backend.feature.cycle.data.BatchStatus;
+import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.data.CycleStatistics;
+import swp391.com.backend.feature.cycle.data.CycleStatisticsRepository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class CyclePredictionBatchJob {
+    static final String JOB_NAME = "cycle-prediction-precompute";
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO cycle_predictions (customer_id, sequence_no, cycle_start_date, cycle_length, period_duration,
+                ovulation_date, fertility_window_start, fertility_window_end, start_date_low, start_date_high,
+                cycle_length_std_dev, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE cycle_start_date = VALUES(cycle_start_date), cycle_length = VALUES(cycle_length),
+                period_duration = VALUES(period_duration), ovulation_date = VALUES(ovulation_date),
+                fertility_window_start = VALUES(fertility_window_start), fertility_window_end = VALUES(fertility_window_end),
+                start_date_low = VALUES(start_date_low), start_date_high = VALUES(start_date_high),
+                cycle_length_std_dev = VALUES(cycle_length_std_dev), computed_at = VALUES(computed_at)
+            """;
+
+    private final CycleStatisticsRepository cycleStatisticsRepository;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final CycleStatisticsService cycleStatisticsService;
+    private final CycleService cycleService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processed = new AtomicLong();
+    private final Timer chunkTimer;
+    private final Counter failures;
+    private final Counter staleSkips;
+
+    @Value("${cycle.prediction.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cycle.prediction.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${cycle.prediction.batch.horizon:3}")
+    private int horizon;
+
+    public CyclePredictionBatchJob(CycleStatisticsRepository cycleStatisticsRepository,
+                                   BatchCheckpointRepository batchCheckpointRepository,
+                                   CycleStatisticsService cycleStatisticsService,
+                                   CycleService cycleService,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("cyclePredictionBatchExecutor") Executor executor,
+                                   MeterRegistry meterRegistry) {
+        this.cycleStatisticsRepository = cycleStatisticsRepository;
+        this.batchCheckpointRepository = batchCheckpointRepository;
+        this.cycleStatisticsService = cycleStatisticsService;
+        this.cycleService = cycleService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        meterRegistry.gauge("cycle.prediction.batch.processed", processed);
+        this.chunkTimer = Timer.builder("cycle.prediction.batch.chunk").register(meterRegistry);
+        this.failures = Counter.builder("cycle.prediction.batch.failures").register(meterRegistry);
+        this.staleSkips = Counter.builder("cycle.prediction.batch.stale-skips").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${cycle.prediction.batch.cron:0 0 3 * * *}")
+    public void runNightly() {
+        if (enabled) {
+            run(false);
+        }
+    }
+
+    // Picks up a run that was interrupted by a shutdown or crash.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (enabled && batchCheckpointRepository.findById(JOB_NAME)
+                .map(checkpoint -> checkpoint.getStatus() == BatchStatus.RUNNING)
+                .orElse(false)) {
+            CompletableFuture.runAsync(() -> run(true));
+        }
+    }
+
+    public void run(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Cycle prediction batch already running, skipping");
+            return;
+        }
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> BatchCheckpoint.builder().jobName(JOB_NAME).build());
+        try {
+            if (!resume || checkpoint.getStatus() != BatchStatus.RUNNING) {
+                checkpoint.setLastProcessedId(0L);
+                checkpoint.setProcessedCount(0L);
+                checkpoint.setStartedAt(LocalDateTime.now());
+                checkpoint.setCompletedAt(null);
+            }
+            checkpoint.setStatus(BatchStatus.RUNNING);
+            checkpoint = saveCheckpoint(checkpoint);
+            processed.set(checkpoint.getProcessedCount());
+
+            List<CycleStatistics> chunk;
+            while (!(chunk = cycleStatisticsRepository.findChunkAfter(
+                    checkpoint.getLastProcessedId(), PageRequest.of(0, chunkSize))).isEmpty()) {
+                List<CycleStatistics> current = chunk;
+                chunkTimer.record(() -> writeChunk(current));
+                checkpoint.setLastProcessedId(current.get(current.size() - 1).getCustomerId());
+                checkpoint.setProcessedCount(checkpoint.getProcessedCount() + current.size());
+                checkpoint = saveCheckpoint(checkpoint);
+                processed.set(checkpoint.getProcessedCount());
+            }
+
+            checkpoint.setStatus(BatchStatus.COMPLETED);
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            saveCheckpoint(checkpoint);
+            log.info("Cycle prediction batch completed, {} customers processed", checkpoint.getProcessedCount());
+        } catch (RuntimeException e) {
+            failures.increment();
+            checkpoint.setStatus(BatchStatus.FAILED);
+            saveCheckpoint(checkpoint);
+            log.error("Cycle prediction batch failed after customer {}", checkpoint.getLastProcessedId(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void writeChunk(List<CycleStatistics> chunk) {
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<CompletableFuture<List<Object[]>>> futures = new ArrayList<>(chunk.size());
+        for (CycleStatistics statistics : chunk) {
+            futures.add(CompletableFuture.supplyAsync(() -> toRows(statistics, computedAt), executor));
+        }
+        List<List<Object[]>> rowsByCustomer = new ArrayList<>(chunk.size());
+        futures.forEach(future -> rowsByCustomer.add(future.join()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Share-locking the statistics rows makes a concurrent cycle write either finish first, so its new
+            // updated_at is seen and the customer is skipped, or wait and clear these rows after the commit.
+            Map<Long, LocalDateTime> currentVersions = lockStatistics(chunk);
+            List<Object[]> rows = new ArrayList<>(chunk.size() * horizon);
+            for (int i = 0; i < chunk.size(); i++) {
+                CycleStatistics statistics = chunk.get(i);
+                Long customerId = statistics.getCustomerId();
+                if (currentVersions.containsKey(customerId)
+                        && Objects.equals(currentVersions.get(customerId), statistics.getUpdatedAt())) {
+                    rows.addAll(rowsByCustomer.get(i));
+                } else {
+                    staleSkips.increment();
+                }
+            }
+            // Drops sequence numbers past the horizon, which are left behind when the horizon is lowered.
+            jdbcTemplate.update("DELETE FROM cycle_predictions WHERE customer_id BETWEEN ? AND ? AND sequence_no > ?",
+                    chunk.get(0).getCustomerId(), chunk.get(chunk.size() - 1).getCustomerId(), horizon);
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        });
+    }
+
+    private Map<Long, LocalDateTime> lockStatistics(List<CycleStatistics> chunk) {
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        Map<Long, LocalDateTime> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT customer_id, updated_at FROM cycle_statistics WHERE customer_id IN (" + placeholders
+                        + ") LOCK IN SHARE MODE",
+                rs -> {
+                    versions.put(rs.getLong("customer_id"), rs.getObject("updated_at", LocalDateTime.class));
+                },
+                chunk.stream().map(CycleStatistics::getCustomerId).toArray());
+        return versions;
+    }
+
+    private List<Object[]> toRows(CycleStatistics statistics, LocalDateTime computedAt) {
+        CyclePredictionModel model = cycleStatisticsService.toModel(statistics);
+        if (model.lastCycleStart() == null) {
+            return List.of();
+        }
+        List<CyclePrediction> predictions = cycleService.predictUpcoming(model, horizon);
+        List<Object[]> rows = new ArrayList<>(predictions.size());
+        for (int i = 0; i < predictions.size(); i++) {
+            CyclePrediction prediction = predictions.get(i);
+            Cycle cycle = prediction.cycle();
+            rows.add(new Object[]{
+                    statistics.getCustomerId(), i + 1, toSqlDate(cycle.getCycleStartDate()),
+                    cycle.getCycleLength(), cycle.getPeriodDuration(), toSqlDate(cycle.getOvulationDate()),
+                    toSqlDate(cycle.getFertilityWindowStart()), toSqlDate(cycle.getFertilityWindowEnd()),
+                    toSqlDate(prediction.startDateLow()), toSqlDate(prediction.startDateHigh()),
+                    prediction.cycleLengthStdDev(), Timestamp.valueOf(computedAt)
+            });
+        }
+        return rows;
+    }
+
+    private BatchCheckpoint saveCheckpoint(BatchCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return batchCheckpointRepository.save(checkpoint);
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+}
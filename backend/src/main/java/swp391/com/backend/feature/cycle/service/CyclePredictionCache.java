@@ -0,0 +1,72 @@
+package swp391.com.backend.feature.cycle.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Holds at most max-entries models; past that the least recently read tenth is dropped. Customers without a model are not cached.
+@Component
+public class CyclePredictionCache {
+    private final Map<Long, CachedModel> models = new ConcurrentHashMap<>();
+
+    @Value("${cycle.prediction.cache.max-entries:10000}")
+    private int maxEntries;
+
+    public Optional<CyclePredictionModel> get(Long customerId, Function<Long, Optional<CyclePredictionModel>> loader) {
+        CachedModel cached = models.computeIfAbsent(customerId,
+                id -> loader.apply(id).map(CachedModel::new).orElse(null));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        cached.lastRead = System.nanoTime();
+        if (models.size() > maxEntries) {
+            evictLeastRecentlyRead();
+        }
+        return Optional.of(cached.model);
+    }
+
+    // Inside a transaction the entry is dropped after commit, so a concurrent read cannot re-cache the old cycles.
+    public void invalidate(Long customerId) {
+        if (customerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    models.remove(customerId);
+                }
+            });
+        }
+        models.remove(customerId);
+    }
+
+    private synchronized void evictLeastRecentlyRead() {
+        int excess = models.size() - maxEntries * 9 / 10;
+        if (excess <= 0 || models.size() <= maxEntries) {
+            return;
+        }
+        models.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> models.remove(entry.getKey(), entry.getValue()));
+    }
+
+    private static final class CachedModel {
+        private final CyclePredictionModel model;
+        private volatile long lastRead;
+
+        private CachedModel(CyclePredictionModel model) {
+            this.model = model;
+            this.lastRead = System.nanoTime();
+        }
+    }
+}
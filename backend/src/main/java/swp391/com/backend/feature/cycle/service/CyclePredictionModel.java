@@ -0,0 +1,27 @@
+package swp391.com.backend.feature.cycle.service;
+
+import java.time.LocalDate;
+
+public record CyclePredictionModel(
+    double avgCycleLength,
+    double cycleLengthStdDev,
+    double avgPeriodDuration,
+    double periodDurationStdDev,
+    LocalDate lastCycleStart,
+    long sampleCount
+) {
+    private static final double Z_95 = 1.96;
+
+    public int roundedCycleLength() {
+        return Math.max(1, (int) Math.round(avgCycleLength));
+    }
+
+    public int roundedPeriodDuration() {
+        return (int) Math.round(avgPeriodDuration);
+    }
+
+    // Independent cycle-length errors add up, so the band widens with the square root of cycles ahead.
+    public int startMarginDays(long cyclesAhead) {
+        return (int) Math.round(Z_95 * cycleLengthStdDev * Math.sqrt(Math.max(0, cyclesAhead)));
+    }
+}
@@ -1,40 +1,73 @@
 package swp391.com.backend.feature.cycle.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.cycle.data.Cycle;
 import swp391.com.backend.feature.cycle.data.CycleRepository;
+import swp391.com.backend.feature.cycle.data.PrecomputedCyclePrediction;
+import swp391.com.backend.feature.cycle.data.PrecomputedCyclePredictionRepository;
 import swp391.com.backend.feature.customer.data.Customer;
 import swp391.com.backend.feature.customer.service.CustomerService;
+import swp391.com.backend.feature.cycleSymptomByDate.data.CycleSymptomByDateRepository;
+import swp391.com.backend.feature.cycleSymptomByDate.data.DailySymptomLogRepository;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CycleService {
     private final CycleRepository cycleRepository;
     private final CustomerService customerService;
+    private final CycleSymptomByDateRepository cycleSymptomByDateRepository;
+    private final DailySymptomLogRepository dailySymptomLogRepository;
+    private final CyclePredictionCache cyclePredictionCache;
+    private final ActiveCycleCache activeCycleCache;
+    private final CycleStatisticsService cycleStatisticsService;
+    private final PrecomputedCyclePredictionRepository precomputedCyclePredictionRepository;
+
+    private static final int MAX_PROJECTION_MONTHS = 36;
+    private static final int LUTEAL_PHASE_DAYS = 14;
 
     public Cycle createCycle(Cycle cycle) {
         cycle.setId(null);
         return cycleRepository.save(cycle);
     }
 
+    @Transactional
     public Cycle createCycleForCustomer(Cycle cycle, Long customerId) {
         Customer customer = customerService.findCustomerById(customerId);
+        if (cycleRepository.existsByCustomerIdAndCycleStartDate(customerId, cycle.getCycleStartDate())) {
+            throw new IllegalArgumentException("A cycle already starts on " + cycle.getCycleStartDate());
+        }
         cycle.setId(null);
         cycle.setCustomer(customer);
-        return cycleRepository.save(cycle);
+        Cycle savedCycle = cycleRepository.save(cycle);
+        cycleStatisticsService.recordCycle(customerId, savedCycle);
+        precomputedCyclePredictionRepository.deleteByCustomerId(customerId);
+        cyclePredictionCache.invalidate(customerId);
+        activeCycleCache.invalidate(customerId);
+        return savedCycle;
     }
 
     public List<Cycle> getCyclesByCustomer(Long customerId) {
-        List<Cycle> allCycles = cycleRepository.findAll();
-        return allCycles.stream()
-                .filter(cycle -> cycle.getCustomer() != null && cycle.getCustomer().getId().equals(customerId))
-                .sorted(Comparator.comparing(Cycle::getCycleStartDate))
-                .toList();
+        return cycleRepository.findByCustomerIdOrderByCycleStartDateAsc(customerId);
+    }
+
+    // Most recent cycles, returned oldest first so the last element is the latest cycle.
+    public List<Cycle> getLatestCyclesByCustomer(Long customerId, int limit) {
+        List<Cycle> cycles = new ArrayList<>(
+                cycleRepository.findByCustomerIdOrderByCycleStartDateDesc(customerId, PageRequest.of(0, limit)));
+        Collections.reverse(cycles);
+        return cycles;
     }
 
     public Cycle getClosestCycleByCustomer(Long customerId) {
@@ -65,14 +98,7 @@ public class CycleService {
     }
 
     public List<Cycle> getFourClosetCycleByCustomer(Long customerId){
-        List<Cycle> cycles = getAllCycles();
-        List<Cycle> fourClosestCycles  = cycles.stream()
-                .filter(cycle -> cycle.getCustomer().getId().equals(customerId))
-                .sorted(Comparator.comparing(Cycle::getCycleStartDate))
-                .limit(4)
-                .toList();
-
-        return fourClosestCycles;
+        return getLatestCyclesByCustomer(customerId, 4);
     }
 
     public Cycle getClosetCycleByDate(){
@@ -86,43 +112,70 @@ public class CycleService {
         return ClosestCycles.get(0);
     }
 
-    public Cycle nextCyclePrediction() {
-        List<Cycle> fourClosestCycles = getFourClosetCycleByDate();
-        LocalDate predictedStartDate = fourClosestCycles.get(0).getCycleStartDate().plusDays(fourClosestCycles.get(0).getCycleLength()+1);
+    public CyclePrediction nextCyclePrediction(Long customerId) {
+        List<PrecomputedCyclePrediction> precomputed =
+                precomputedCyclePredictionRepository.findByCustomerIdOrderBySequenceNoAsc(customerId);
+        if (!precomputed.isEmpty()) {
+            return toPrediction(precomputed.get(0));
+        }
 
-        double avgCycleLength = fourClosestCycles.stream()
-                .mapToInt(Cycle::getCycleLength)
-                .average()
-                .orElse(0);
+        Optional<CyclePredictionModel> model = getPredictionModel(customerId);
+        if (model.isEmpty()) {
+            return null;
+        }
+        LocalDate predictedStartDate = model.get().lastCycleStart().plusDays(model.get().roundedCycleLength());
+        return buildPrediction(predictedStartDate, 1, model.get());
+    }
 
-        double avgDuration = fourClosestCycles.stream()
-                .mapToInt(Cycle::getPeriodDuration)
-                .average()
-                .orElse(0);
+    public List<CyclePrediction> predictUpcoming(CyclePredictionModel model, int count) {
+        List<CyclePrediction> predictions = new ArrayList<>(count);
+        for (int k = 1; k <= count; k++) {
+            predictions.add(buildPrediction(
+                    model.lastCycleStart().plusDays((long) k * model.roundedCycleLength()), k, model));
+        }
+        return predictions;
+    }
 
-        Cycle predictedCycle = Cycle.builder()
-                .cycleStartDate(predictedStartDate)
-                .cycleLength((int) Math.round(avgCycleLength))
-                .periodDuration((int) Math.round(avgDuration))
-                .ovulationDate(predictedStartDate.plusDays(14))
-                .fertilityWindowStart(predictedStartDate.plusDays(10))
-                .fertilityWindowEnd(predictedStartDate.plusDays(15))
+    private CyclePrediction toPrediction(PrecomputedCyclePrediction stored) {
+        Cycle cycle = Cycle.builder()
+                .cycleStartDate(stored.getCycleStartDate())
+                .cycleLength(stored.getCycleLength())
+                .periodDuration(stored.getPeriodDuration())
+                .ovulationDate(stored.getOvulationDate())
+                .fertilityWindowStart(stored.getFertilityWindowStart())
+                .fertilityWindowEnd(stored.getFertilityWindowEnd())
                 .build();
+        return new CyclePrediction(cycle, stored.getStartDateLow(), stored.getStartDateHigh(),
+                stored.getCycleLengthStdDev() != null ? stored.getCycleLengthStdDev() : 0);
+    }
 
-        return predictedCycle;
+    public Optional<CyclePredictionModel> getPredictionModel(Long customerId) {
+        return cyclePredictionCache.get(customerId, cycleStatisticsService::loadModel);
     }
 
-    public Cycle cyclePrediction(Cycle cycle) {
-        Cycle predictedCycle = Cycle.builder()
-                .cycleStartDate(cycle.getCycleStartDate())
-                .cycleLength(cycle.getCycleLength())
-                .periodDuration(cycle.getPeriodDuration())
-                .ovulationDate(cycle.getCycleStartDate().plusDays(14))
-                .fertilityWindowStart(cycle.getCycleStartDate().plusDays(10))
-                .fertilityWindowEnd(cycle.getCycleStartDate().plusDays(15))
+    private CyclePrediction buildPrediction(LocalDate predictedStartDate, long cyclesAhead, CyclePredictionModel model) {
+        int margin = model.startMarginDays(cyclesAhead);
+        Cycle cycle = buildCycle(predictedStartDate, model.roundedCycleLength(), model.roundedPeriodDuration());
+        return new CyclePrediction(cycle, predictedStartDate.minusDays(margin), predictedStartDate.plusDays(margin),
+                model.cycleLengthStdDev());
+    }
+
+    // Ovulation is placed a luteal phase (about 14 days) before the next period, so it moves with cycle length.
+    private Cycle buildCycle(LocalDate startDate, int cycleLength, Integer periodDuration) {
+        LocalDate ovulationDate = startDate.plusDays(Math.max(0, cycleLength - LUTEAL_PHASE_DAYS));
+        return Cycle.builder()
+                .cycleStartDate(startDate)
+                .cycleLength(cycleLength)
+                .periodDuration(periodDuration)
+                .ovulationDate(ovulationDate)
+                .fertilityWindowStart(ovulationDate.minusDays(4))
+                .fertilityWindowEnd(ovulationDate.plusDays(1))
                 .build();
+    }
 
-        return predictedCycle;
+    public Cycle cyclePrediction(Cycle cycle) {
+        int cycleLength = cycle.getCycleLength() != null ? cycle.getCycleLength() : 28;
+        return buildCycle(cycle.getCycleStartDate(), cycleLength, cycle.getPeriodDuration());
     }
 
     public Cycle cyclePredictionForMonth(int year, int month) {
@@ -145,7 +198,7 @@ public class CycleService {
         Cycle lastCycle = fourClosestCycles.get(fourClosestCycles.size() - 1);
         LocalDate lastCycleStart = lastCycle.getCycleStartDate();
         
-        LocalDate targetMonthStart = LocalDate.of(year, month, 1);
+        LocalDate targetMonthStart = toYearMonth(year, month).atDay(1);
         LocalDate targetMonthEnd = targetMonthStart.plusMonths(1).minusDays(1);
         
         LocalDate predictedStartDate = lastCycleStart;
@@ -169,57 +222,106 @@ public class CycleService {
         return predictedCycle;
     }
 
-    public Cycle cyclePredictionForMonth(int year, int month, Long customerId) {
-        List<Cycle> fourClosestCycles = getFourClosetCycleByCustomer(customerId);
-        
-        if (fourClosestCycles.isEmpty()) {
+    // Jumps straight to the first predicted start on or after the month instead of stepping cycle by cycle.
+    public CyclePrediction cyclePredictionForMonth(int year, int month, Long customerId) {
+        YearMonth targetMonth = toYearMonth(year, month);
+        for (PrecomputedCyclePrediction stored : precomputedCyclePredictionRepository.findByCustomerIdOrderBySequenceNoAsc(customerId)) {
+            if (YearMonth.from(stored.getCycleStartDate()).equals(targetMonth)) {
+                return toPrediction(stored);
+            }
+        }
+
+        Optional<CyclePredictionModel> model = getPredictionModel(customerId);
+        if (model.isEmpty()) {
             return null;
         }
 
-        double avgCycleLength = fourClosestCycles.stream()
-                .mapToInt(Cycle::getCycleLength)
-                .average()
-                .orElse(28);
+        int cycleLength = model.get().roundedCycleLength();
+        LocalDate targetMonthStart = targetMonth.atDay(1);
+        LocalDate targetMonthEnd = targetMonthStart.plusMonths(1).minusDays(1);
 
-        double avgDuration = fourClosestCycles.stream()
-                .mapToInt(Cycle::getPeriodDuration)
-                .average()
-                .orElse(7);
+        LocalDate lastCycleStart = model.get().lastCycleStart();
+        long cyclesAhead = 0;
+        if (lastCycleStart.isBefore(targetMonthStart)) {
+            long daysToMonth = ChronoUnit.DAYS.between(lastCycleStart, targetMonthStart);
+            cyclesAhead = (daysToMonth + cycleLength - 1) / cycleLength;
+        }
+        if (lastCycleStart.plusDays(cyclesAhead * cycleLength).isAfter(targetMonthEnd)) {
+            cyclesAhead--;
+        }
 
-        Cycle lastCycle = fourClosestCycles.get(fourClosestCycles.size() - 1);
-        LocalDate lastCycleStart = lastCycle.getCycleStartDate();
-        
-        LocalDate targetMonthStart = LocalDate.of(year, month, 1);
-        LocalDate targetMonthEnd = targetMonthStart.plusMonths(1).minusDays(1);
-        
-        LocalDate predictedStartDate = lastCycleStart;
-        while (predictedStartDate.isBefore(targetMonthStart)) {
-            predictedStartDate = predictedStartDate.plusDays((int) Math.round(avgCycleLength));
+        return buildPrediction(lastCycleStart.plusDays(cyclesAhead * cycleLength), cyclesAhead, model.get());
+    }
+
+    static YearMonth toYearMonth(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("month must be between 1 and 12");
         }
-        
-        if (predictedStartDate.isAfter(targetMonthEnd)) {
-            predictedStartDate = predictedStartDate.minusDays((int) Math.round(avgCycleLength));
+        if (year < 1 || year > 9999) {
+            throw new IllegalArgumentException("year must be between 1 and 9999");
         }
+        return YearMonth.of(year, month);
+    }
 
-        Cycle predictedCycle = Cycle.builder()
-                .cycleStartDate(predictedStartDate)
-                .cycleLength((int) Math.round(avgCycleLength))
-                .periodDuration((int) Math.round(avgDuration))
-                .ovulationDate(predictedStartDate.plusDays(14))
-                .fertilityWindowStart(predictedStartDate.plusDays(10))
-                .fertilityWindowEnd(predictedStartDate.plusDays(15))
-                .build();
+    public List<CyclePrediction> projectCycles(int year, int month, int months, Long customerId) {
+        if (months < 1 || months > MAX_PROJECTION_MONTHS) {
+            throw new IllegalArgumentException("months must be between 1 and " + MAX_PROJECTION_MONTHS);
+        }
+        Optional<CyclePredictionModel> model = getPredictionModel(customerId);
+        if (model.isEmpty()) {
+            return List.of();
+        }
 
-        return predictedCycle;
+        int cycleLength = model.get().roundedCycleLength();
+        YearMonth firstMonth = toYearMonth(year, month);
+        LocalDate rangeStart = firstMonth.atDay(1);
+        LocalDate rangeEnd = firstMonth.plusMonths(months - 1L).atEndOfMonth();
+
+        LocalDate lastCycleStart = model.get().lastCycleStart();
+        if (lastCycleStart.isAfter(rangeEnd)) {
+            return List.of();
+        }
+        long firstCycle = 0;
+        if (lastCycleStart.isBefore(rangeStart)) {
+            long daysToRange = ChronoUnit.DAYS.between(lastCycleStart, rangeStart);
+            firstCycle = (daysToRange + cycleLength - 1) / cycleLength;
+        }
+        long lastCycle = ChronoUnit.DAYS.between(lastCycleStart, rangeEnd) / cycleLength;
+        if (lastCycle < firstCycle) {
+            return List.of();
+        }
+
+        List<CyclePrediction> projection = new ArrayList<>((int) (lastCycle - firstCycle + 1));
+        for (long k = firstCycle; k <= lastCycle; k++) {
+            projection.add(buildPrediction(lastCycleStart.plusDays(k * cycleLength), k, model.get()));
+        }
+        return projection;
     }
 
+    @Transactional
     public void deleteCycle(Integer cycleId) {
-        cycleRepository.deleteById(cycleId.longValue());
+        cycleRepository.findById(cycleId.longValue()).ifPresent(cycle -> {
+            cycleRepository.delete(cycle);
+            dailySymptomLogRepository.deleteByCycleId(cycle.getId());
+            if (cycle.getCustomer() != null) {
+                cycleRepository.flush();
+                cycleStatisticsService.rebuild(cycle.getCustomer().getId());
+                precomputedCyclePredictionRepository.deleteByCustomerId(cycle.getCustomer().getId());
+                cyclePredictionCache.invalidate(cycle.getCustomer().getId());
+                activeCycleCache.invalidate(cycle.getCustomer().getId());
+            }
+        });
     }
 
+    @Transactional
     public void deleteAllCyclesForCustomer(Long customerId) {
-        List<Cycle> customerCycles = getCyclesByCustomer(customerId);
-        cycleRepository.deleteAll(customerCycles);
+        cycleSymptomByDateRepository.deleteByCustomerId(customerId);
+        dailySymptomLogRepository.deleteByCustomerId(customerId);
+        cycleRepository.deleteByCustomerId(customerId);
+        cycleStatisticsService.delete(customerId);
+        precomputedCyclePredictionRepository.deleteByCustomerId(customerId);
+        cyclePredictionCache.invalidate(customerId);
+        activeCycleCache.invalidate(customerId);
     }
 }
 
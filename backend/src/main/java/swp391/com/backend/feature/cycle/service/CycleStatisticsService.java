@@ -0,0 +1,131 @@
+package swp391.com.backend.feature.cycle.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.data.CycleRepository;
+import swp391.com.backend.feature.cycle.data.CycleStatistics;
+import swp391.com.backend.feature.cycle.data.CycleStatisticsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class CycleStatisticsService {
+    private static final double DEFAULT_CYCLE_LENGTH = 28;
+    private static final double DEFAULT_PERIOD_DURATION = 7;
+    private static final double DEFAULT_CYCLE_LENGTH_STD_DEV = 3;
+    private static final double DEFAULT_PERIOD_DURATION_STD_DEV = 1;
+
+    private final CycleStatisticsRepository cycleStatisticsRepository;
+    private final CycleRepository cycleRepository;
+
+    @Value("${cycle.prediction.recency-weight:0.3}")
+    private double recencyWeight;
+
+    public Optional<CyclePredictionModel> loadModel(Long customerId) {
+        return cycleStatisticsRepository.findById(customerId).map(this::toModel);
+    }
+
+    @Transactional
+    public void recordCycle(Long customerId, Cycle cycle) {
+        CycleStatistics statistics = lock(customerId);
+        // A back-dated cycle changes the recency order, which the running averages cannot absorb.
+        if (statistics.getLastCycleStart() == null || cycle.getCycleStartDate().isBefore(statistics.getLastCycleStart())) {
+            rebuildLocked(statistics);
+            return;
+        }
+        accumulate(statistics, cycle);
+        cycleStatisticsRepository.save(statistics);
+    }
+
+    @Transactional
+    public void rebuild(Long customerId) {
+        rebuildLocked(lock(customerId));
+    }
+
+    private CycleStatistics lock(Long customerId) {
+        cycleStatisticsRepository.insertIfAbsent(customerId);
+        return cycleStatisticsRepository.findForUpdate(customerId)
+                .orElseThrow(() -> new IllegalStateException("Cycle statistics row missing for customer " + customerId));
+    }
+
+    // Reads the cycles only while holding the row lock, so concurrent writers cannot interleave with the rebuild.
+    private void rebuildLocked(CycleStatistics statistics) {
+        List<Cycle> cycles = cycleRepository.findCurrentByCustomerId(statistics.getCustomerId());
+        if (cycles.isEmpty()) {
+            cycleStatisticsRepository.delete(statistics);
+            return;
+        }
+        reset(statistics);
+        cycles.forEach(cycle -> accumulate(statistics, cycle));
+        cycleStatisticsRepository.save(statistics);
+    }
+
+    @Transactional
+    public void delete(Long customerId) {
+        cycleStatisticsRepository.deleteByCustomerId(customerId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        cycleRepository.findCustomerIdsWithoutStatistics().forEach(this::rebuild);
+    }
+
+    // Welford's update for mean and sum of squared deviations, plus an exponentially weighted recent average.
+    private void accumulate(CycleStatistics statistics, Cycle cycle) {
+        if (cycle.getCycleLength() != null) {
+            double x = cycle.getCycleLength();
+            long n = statistics.getLengthCount() + 1;
+            double delta = x - statistics.getLengthMean();
+            statistics.setLengthCount(n);
+            statistics.setLengthMean(statistics.getLengthMean() + delta / n);
+            statistics.setLengthM2(statistics.getLengthM2() + delta * (x - statistics.getLengthMean()));
+            statistics.setLengthEwma(n == 1 ? x : recencyWeight * x + (1 - recencyWeight) * statistics.getLengthEwma());
+        }
+        if (cycle.getPeriodDuration() != null) {
+            double x = cycle.getPeriodDuration();
+            long n = statistics.getDurationCount() + 1;
+            double delta = x - statistics.getDurationMean();
+            statistics.setDurationCount(n);
+            statistics.setDurationMean(statistics.getDurationMean() + delta / n);
+            statistics.setDurationM2(statistics.getDurationM2() + delta * (x - statistics.getDurationMean()));
+            statistics.setDurationEwma(n == 1 ? x : recencyWeight * x + (1 - recencyWeight) * statistics.getDurationEwma());
+        }
+        if (statistics.getLastCycleStart() == null || cycle.getCycleStartDate().isAfter(statistics.getLastCycleStart())) {
+            statistics.setLastCycleStart(cycle.getCycleStartDate());
+        }
+        statistics.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private void reset(CycleStatistics statistics) {
+        statistics.setLengthCount(0);
+        statistics.setLengthMean(0);
+        statistics.setLengthM2(0);
+        statistics.setLengthEwma(0);
+        statistics.setDurationCount(0);
+        statistics.setDurationMean(0);
+        statistics.setDurationM2(0);
+        statistics.setDurationEwma(0);
+        statistics.setLastCycleStart(null);
+    }
+
+    public CyclePredictionModel toModel(CycleStatistics statistics) {
+        long lengthCount = statistics.getLengthCount();
+        long durationCount = statistics.getDurationCount();
+        return new CyclePredictionModel(
+                lengthCount > 0 ? statistics.getLengthEwma() : DEFAULT_CYCLE_LENGTH,
+                lengthCount > 1 ? Math.sqrt(statistics.getLengthM2() / (lengthCount - 1)) : DEFAULT_CYCLE_LENGTH_STD_DEV,
+                durationCount > 0 ? statistics.getDurationEwma() : DEFAULT_PERIOD_DURATION,
+                durationCount > 1 ? Math.sqrt(statistics.getDurationM2() / (durationCount - 1)) : DEFAULT_PERIOD_DURATION_STD_DEV,
+                statistics.getLastCycleStart(),
+                lengthCount);
+    }
+}
@@ -3,10 +3,13 @@ package swp391.com.backend.feature.cycleSymptomByDate.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import swp391.com.backend.common.util.AuthenticationUtil;
 import swp391.com.backend.feature.cycleSymptomByDate.data.CycleSymptomByDate;
 import swp391.com.backend.feature.cycleSymptomByDate.data.Symptom;
 import swp391.com.backend.feature.cycleSymptomByDate.dto.CycleSymptomByDateRequest;
 import swp391.com.backend.feature.cycleSymptomByDate.dto.CycleSymptomByDateResponse;
+import swp391.com.backend.feature.cycleSymptomByDate.dto.SymptomBatchRequest;
+import swp391.com.backend.feature.cycleSymptomByDate.dto.SymptomBatchResultDTO;
 import swp391.com.backend.feature.cycleSymptomByDate.service.CycleSymptomByDateService;
 
 import java.time.LocalDateTime;
@@ -18,10 +21,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CycleSymptomByDateController {
     private final CycleSymptomByDateService cycleSymptomByDateService;
+    private final AuthenticationUtil authenticationUtil;
 
     @PostMapping
     public ResponseEntity<CycleSymptomByDateResponse> saveSymptom(@RequestBody CycleSymptomByDateRequest request) {
-        CycleSymptomByDate savedSymptom = cycleSymptomByDateService.saveSymptom(request);
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+        CycleSymptomByDate savedSymptom = cycleSymptomByDateService.saveSymptom(request, customerId);
         
         CycleSymptomByDateResponse response = new CycleSymptomByDateResponse(
                 savedSymptom.getCycleId(),
@@ -32,6 +37,12 @@ public class CycleSymptomByDateController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/batch")
+    public ResponseEntity<SymptomBatchResultDTO> applyBatch(@RequestBody SymptomBatchRequest request) {
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+        return ResponseEntity.ok(cycleSymptomByDateService.applyBatch(customerId, request.days()));
+    }
+
     @GetMapping
     public ResponseEntity<List<CycleSymptomByDateResponse>> getAllSymptoms() {
         List<CycleSymptomByDate> symptoms = cycleSymptomByDateService.getAllSymptoms();
@@ -64,7 +75,8 @@ public class CycleSymptomByDateController {
 
     @DeleteMapping
     public ResponseEntity<Void> deleteSymptomsByDate(@RequestParam LocalDateTime date) {
-        cycleSymptomByDateService.deleteSymptomsByDate(date);
+        Long customerId = authenticationUtil.getCurrentCustomerId();
+        cycleSymptomByDateService.deleteSymptomsByDate(customerId, date);
         return ResponseEntity.ok().build();
     }
 
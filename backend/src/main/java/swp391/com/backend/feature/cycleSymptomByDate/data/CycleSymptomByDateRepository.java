@@ -1,11 +1,14 @@
 package swp391.com.backend.feature.cycleSymptomByDate.data;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,10 +18,38 @@ public interface CycleSymptomByDateRepository extends JpaRepository<CycleSymptom
     List<CycleSymptomByDate> findByCycleId(Long cycleId);
     
     List<CycleSymptomByDate> findByDate(LocalDateTime date);
+
+    @Query("SELECT s FROM CycleSymptomByDate s WHERE s.cycle.customer.id = :customerId ORDER BY s.date")
+    List<CycleSymptomByDate> findByCustomerId(@Param("customerId") Long customerId);
     
     Optional<CycleSymptomByDate> findByCycleIdAndDateAndSymptom(Long cycleId, LocalDateTime date, Symptom symptom);
     
     @Query("SELECT c FROM CycleSymptomByDate c WHERE DATE(c.date) = DATE(:date)")
     List<CycleSymptomByDate> findByDateOnly(@Param("date") LocalDateTime date);
-}
 
+    @Query("SELECT new swp391.com.backend.feature.cycleSymptomByDate.data.SymptomDayRow(s.date, s.symptom) " +
+           "FROM CycleSymptomByDate s WHERE s.cycle.customer.id = :customerId AND s.date >= :from AND s.date < :to")
+    List<SymptomDayRow> findSymptomDaysByCustomer(@Param("customerId") Long customerId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CycleSymptomByDate s WHERE s.date = :date " +
+           "AND s.cycleId IN (SELECT c.id FROM Cycle c WHERE c.customer.id = :customerId)")
+    int deleteByCustomerIdAndDate(@Param("customerId") Long customerId, @Param("date") LocalDateTime date);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CycleSymptomByDate s WHERE s.date >= :from AND s.date < :to AND s.symptom IN :symptoms " +
+           "AND s.cycleId IN (SELECT c.id FROM Cycle c WHERE c.customer.id = :customerId)")
+    int deleteByCustomerIdAndDay(@Param("customerId") Long customerId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("symptoms") Collection<Symptom> symptoms);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CycleSymptomByDate s WHERE s.cycleId IN (SELECT c.id FROM Cycle c WHERE c.customer.id = :customerId)")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+}
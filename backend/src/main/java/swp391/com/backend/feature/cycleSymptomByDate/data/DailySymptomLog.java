@@ -0,0 +1,43 @@
+package swp391.com.backend.feature.cycleSymptomByDate.data;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_symptom_logs", indexes = {
+    @Index(name = "idx_daily_symptom_logs_cycle", columnList = "cycle_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(DailySymptomLogId.class)
+public class DailySymptomLog {
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Id
+    @Column(name = "log_date")
+    private LocalDate date;
+
+    @Column(name = "cycle_id")
+    private Long cycleId;
+
+    // One bit per Symptom ordinal, see SymptomMask.
+    @Column(name = "symptom_mask", nullable = false)
+    private int symptomMask;
+}
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+class DailySymptomLogId implements Serializable {
+    private Long customerId;
+    private LocalDate date;
+}
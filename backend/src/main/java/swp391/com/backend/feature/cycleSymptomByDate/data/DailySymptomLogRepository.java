@@ -0,0 +1,67 @@
+package swp391.com.backend.feature.cycleSymptomByDate.data;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySymptomLogRepository extends JpaRepository<DailySymptomLog, DailySymptomLogId> {
+
+    List<DailySymptomLog> findByCustomerIdAndDateBetweenOrderByDateAsc(Long customerId, LocalDate from, LocalDate to);
+
+    List<DailySymptomLog> findByCustomerIdOrderByDateAsc(Long customerId);
+
+    List<DailySymptomLog> findByCycleIdOrderByDateAsc(Long cycleId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_symptom_logs (customer_id, log_date, cycle_id, symptom_mask) " +
+                   "VALUES (:customerId, :date, :cycleId, :mask) " +
+                   "ON DUPLICATE KEY UPDATE symptom_mask = symptom_mask | VALUES(symptom_mask), cycle_id = VALUES(cycle_id)",
+           nativeQuery = true)
+    int addSymptoms(@Param("customerId") Long customerId, @Param("date") LocalDate date,
+                    @Param("cycleId") Long cycleId, @Param("mask") int mask);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE daily_symptom_logs SET symptom_mask = symptom_mask & ~:mask " +
+                   "WHERE customer_id = :customerId AND log_date = :date", nativeQuery = true)
+    int clearSymptoms(@Param("customerId") Long customerId, @Param("date") LocalDate date, @Param("mask") int mask);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE daily_symptom_logs SET symptom_mask = symptom_mask & ~:mask " +
+                   "WHERE cycle_id = :cycleId AND log_date = :date", nativeQuery = true)
+    int clearSymptomsByCycle(@Param("cycleId") Long cycleId, @Param("date") LocalDate date, @Param("mask") int mask);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailySymptomLog l WHERE l.customerId = :customerId AND l.date = :date AND l.symptomMask = 0")
+    int deleteIfEmpty(@Param("customerId") Long customerId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailySymptomLog l WHERE l.cycleId = :cycleId AND l.date = :date AND l.symptomMask = 0")
+    int deleteIfEmptyByCycle(@Param("cycleId") Long cycleId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailySymptomLog l WHERE l.customerId = :customerId AND l.date = :date")
+    int deleteByCustomerIdAndDate(@Param("customerId") Long customerId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailySymptomLog l WHERE l.cycleId = :cycleId")
+    int deleteByCycleId(@Param("cycleId") Long cycleId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailySymptomLog l WHERE l.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+}
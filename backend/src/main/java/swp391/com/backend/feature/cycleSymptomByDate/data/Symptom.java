@@ -1,5 +1,6 @@
 package swp391.com.backend.feature.cycleSymptomByDate.data;
 
+// Ordinals are persisted as SymptomMask bits, so new values must only be appended.
 public enum Symptom {
     HEADACHE,
     CRAMPS,
@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.cycleSymptomByDate.data;
+
+import java.time.LocalDateTime;
+
+public record SymptomDayRow(LocalDateTime date, Symptom symptom) {
+}
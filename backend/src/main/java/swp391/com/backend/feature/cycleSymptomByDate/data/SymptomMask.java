@@ -0,0 +1,31 @@
+package swp391.com.backend.feature.cycleSymptomByDate.data;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public final class SymptomMask {
+    private static final Symptom[] SYMPTOMS = Symptom.values();
+
+    private SymptomMask() {
+    }
+
+    public static int of(Set<Symptom> symptoms) {
+        int mask = 0;
+        for (Symptom symptom : symptoms) {
+            mask |= bit(symptom);
+        }
+        return mask;
+    }
+
+    public static int bit(Symptom symptom) {
+        return 1 << symptom.ordinal();
+    }
+
+    public static EnumSet<Symptom> toSet(int mask) {
+        EnumSet<Symptom> symptoms = EnumSet.noneOf(Symptom.class);
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            symptoms.add(SYMPTOMS[Integer.numberOfTrailingZeros(remaining)]);
+        }
+        return symptoms;
+    }
+}
@@ -0,0 +1,8 @@
+package swp391.com.backend.feature.cycleSymptomByDate.data;
+
+public enum SymptomStorageMode {
+    // One cycle_symptom_by_date row per (cycle, date, symptom).
+    ROWS,
+    // One daily_symptom_logs row per customer-day with a SymptomMask column.
+    BITMASK
+}
@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.cycleSymptomByDate.dto;
+
+import java.util.List;
+
+public record SymptomBatchRequest(List<SymptomDayEntry> days) {
+}
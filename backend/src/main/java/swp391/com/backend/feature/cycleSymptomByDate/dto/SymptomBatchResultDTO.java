@@ -0,0 +1,4 @@
+package swp391.com.backend.feature.cycleSymptomByDate.dto;
+
+public record SymptomBatchResultDTO(int changedDays, int added, int removed) {
+}
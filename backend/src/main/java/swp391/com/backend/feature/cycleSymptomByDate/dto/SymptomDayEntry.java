@@ -0,0 +1,9 @@
+package swp391.com.backend.feature.cycleSymptomByDate.dto;
+
+import swp391.com.backend.feature.cycleSymptomByDate.data.Symptom;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public record SymptomDayEntry(LocalDate date, Set<Symptom> symptoms) {
+}
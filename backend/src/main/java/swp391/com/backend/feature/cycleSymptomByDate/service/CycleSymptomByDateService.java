@@ -1,51 +1,302 @@
 package swp391.com.backend.feature.cycleSymptomByDate.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.cycle.data.Cycle;
 import swp391.com.backend.feature.cycle.data.CycleRepository;
+import swp391.com.backend.feature.cycle.service.ActiveCycleCache;
 import swp391.com.backend.feature.cycleSymptomByDate.data.CycleSymptomByDate;
 import swp391.com.backend.feature.cycleSymptomByDate.data.CycleSymptomByDateRepository;
+import swp391.com.backend.feature.cycleSymptomByDate.data.DailySymptomLog;
+import swp391.com.backend.feature.cycleSymptomByDate.data.DailySymptomLogRepository;
 import swp391.com.backend.feature.cycleSymptomByDate.data.Symptom;
+import swp391.com.backend.feature.cycleSymptomByDate.data.SymptomDayRow;
+import swp391.com.backend.feature.cycleSymptomByDate.data.SymptomMask;
+import swp391.com.backend.feature.cycleSymptomByDate.data.SymptomStorageMode;
 import swp391.com.backend.feature.cycleSymptomByDate.dto.CycleSymptomByDateRequest;
+import swp391.com.backend.feature.cycleSymptomByDate.dto.SymptomBatchResultDTO;
+import swp391.com.backend.feature.cycleSymptomByDate.dto.SymptomDayEntry;
 
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CycleSymptomByDateService {
+    private static final int MAX_BATCH_DAYS = 366;
+
+    private static final String UPSERT_SYMPTOM_LOG_SQL =
+            "INSERT INTO daily_symptom_logs (customer_id, log_date, cycle_id, symptom_mask) VALUES (?, ?, ?, ?)" +
+            " ON DUPLICATE KEY UPDATE symptom_mask = VALUES(symptom_mask), cycle_id = VALUES(cycle_id)";
+    private static final String DELETE_SYMPTOM_LOG_SQL =
+            "DELETE FROM daily_symptom_logs WHERE customer_id = ? AND log_date = ?";
+    private static final String INSERT_SYMPTOM_ROW_SQL =
+            "INSERT INTO cycle_symptom_by_date (cycle_id, date, symptom) VALUES (?, ?, ?)";
+    // Folds legacy one-row-per-symptom data into day masks; FIND_IN_SET over the names in ordinal order yields ordinal + 1.
+    private static final String MIGRATE_LEGACY_ROWS_SQL =
+            "INSERT INTO daily_symptom_logs (customer_id, log_date, cycle_id, symptom_mask)" +
+            " SELECT customer_id, day, cycle_id, mask FROM (" +
+            "  SELECT c.customer_id, DATE(s.date) AS day, MAX(s.cycle_id) AS cycle_id," +
+            "   BIT_OR(1 << (FIND_IN_SET(s.symptom, ?) - 1)) AS mask" +
+            "  FROM cycle_symptom_by_date s JOIN cycles c ON c.id = s.cycle_id" +
+            "  WHERE FIND_IN_SET(s.symptom, ?) > 0" +
+            "  GROUP BY c.customer_id, DATE(s.date)) legacy" +
+            " ON DUPLICATE KEY UPDATE symptom_mask = symptom_mask | VALUES(symptom_mask)";
+    private static final String DELETE_MIGRATED_ROWS_SQL =
+            "DELETE s FROM cycle_symptom_by_date s JOIN cycles c ON c.id = s.cycle_id WHERE FIND_IN_SET(s.symptom, ?) > 0";
+    private static final String DELETE_SYMPTOM_ROW_SQL =
+            "DELETE s FROM cycle_symptom_by_date s JOIN cycles c ON c.id = s.cycle_id" +
+            " WHERE c.customer_id = ? AND s.date >= ? AND s.date < ? AND s.symptom = ?";
+
     private final CycleSymptomByDateRepository cycleSymptomByDateRepository;
+    private final DailySymptomLogRepository dailySymptomLogRepository;
     private final CycleRepository cycleRepository;
+    private final ActiveCycleCache activeCycleCache;
+    private final JdbcTemplate jdbcTemplate;
 
-    public CycleSymptomByDate saveSymptom(CycleSymptomByDateRequest request) {
+    @Value("${cycle.symptoms.storage-mode:BITMASK}")
+    private SymptomStorageMode storageMode;
 
+    public boolean isCompactStorage() {
+        return storageMode == SymptomStorageMode.BITMASK;
+    }
 
-        List<Cycle> cycles = cycleRepository.findAll();
-        if (cycles.isEmpty()) {
-            throw new RuntimeException("No cycles found");
+    // Existing deployments and the seed scripts hold symptoms in cycle_symptom_by_date; move them over once in
+    // BITMASK mode so the history stays visible. Migrated rows are removed, so later runs find nothing to do.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        if (!isCompactStorage()) {
+            return;
         }
-        
-        Cycle latestCycle = cycles.get(cycles.size() - 1);
-        
+        String symptomNames = Arrays.stream(Symptom.values()).map(Symptom::name).collect(Collectors.joining(","));
+        int days = jdbcTemplate.update(MIGRATE_LEGACY_ROWS_SQL, symptomNames, symptomNames);
+        int rows = jdbcTemplate.update(DELETE_MIGRATED_ROWS_SQL, symptomNames);
+        if (rows > 0) {
+            log.info("Migrated {} legacy symptom rows into daily symptom logs ({} upsert rows affected)", rows, days);
+        }
+    }
+
+    @Transactional
+    public CycleSymptomByDate saveSymptom(CycleSymptomByDateRequest request, Long customerId) {
+        if (request.getDate() == null || request.getSymptom() == null) {
+            throw new IllegalArgumentException("Date and symptom are required");
+        }
+
         CycleSymptomByDate symptom = new CycleSymptomByDate();
-        symptom.setCycleId(latestCycle.getId());
+        symptom.setCycleId(resolveCycleId(customerId, request.getDate().toLocalDate()));
         symptom.setDate(request.getDate());
         symptom.setSymptom(request.getSymptom());
-        
+
+        if (isCompactStorage()) {
+            dailySymptomLogRepository.addSymptoms(customerId, request.getDate().toLocalDate(),
+                    symptom.getCycleId(), SymptomMask.bit(request.getSymptom()));
+            return symptom;
+        }
         return cycleSymptomByDateRepository.save(symptom);
     }
 
+    public EnumSet<Symptom> getSymptoms(Long customerId, LocalDate date) {
+        return getSymptomsBetween(customerId, date, date).getOrDefault(date, EnumSet.noneOf(Symptom.class));
+    }
+
+    public Map<LocalDate, EnumSet<Symptom>> getSymptomsBetween(Long customerId, LocalDate from, LocalDate to) {
+        Map<LocalDate, EnumSet<Symptom>> symptomsByDate = new TreeMap<>();
+        if (isCompactStorage()) {
+            for (DailySymptomLog log : dailySymptomLogRepository.findByCustomerIdAndDateBetweenOrderByDateAsc(customerId, from, to)) {
+                symptomsByDate.put(log.getDate(), SymptomMask.toSet(log.getSymptomMask()));
+            }
+            return symptomsByDate;
+        }
+        for (SymptomDayRow row : cycleSymptomByDateRepository.findSymptomDaysByCustomer(
+                customerId, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            symptomsByDate.computeIfAbsent(row.date().toLocalDate(), date -> EnumSet.noneOf(Symptom.class)).add(row.symptom());
+        }
+        return symptomsByDate;
+    }
+
+    @Transactional
+    public void addSymptoms(Long customerId, LocalDate date, Set<Symptom> symptoms) {
+        if (symptoms.isEmpty()) {
+            return;
+        }
+        Long cycleId = resolveCycleId(customerId, date);
+        if (isCompactStorage()) {
+            dailySymptomLogRepository.addSymptoms(customerId, date, cycleId, SymptomMask.of(symptoms));
+            return;
+        }
+        EnumSet<Symptom> missing = EnumSet.copyOf(symptoms);
+        missing.removeAll(getSymptoms(customerId, date));
+        List<CycleSymptomByDate> rows = new ArrayList<>(missing.size());
+        for (Symptom symptom : missing) {
+            CycleSymptomByDate row = new CycleSymptomByDate();
+            row.setCycleId(cycleId);
+            row.setDate(date.atStartOfDay());
+            row.setSymptom(symptom);
+            rows.add(row);
+        }
+        cycleSymptomByDateRepository.saveAll(rows);
+    }
+
+    @Transactional
+    public void removeSymptoms(Long customerId, LocalDate date, Set<Symptom> symptoms) {
+        if (symptoms.isEmpty()) {
+            return;
+        }
+        if (isCompactStorage()) {
+            dailySymptomLogRepository.clearSymptoms(customerId, date, SymptomMask.of(symptoms));
+            dailySymptomLogRepository.deleteIfEmpty(customerId, date);
+            return;
+        }
+        cycleSymptomByDateRepository.deleteByCustomerIdAndDay(
+                customerId, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), symptoms);
+    }
+
+    @Transactional
+    public void setSymptoms(Long customerId, LocalDate date, Set<Symptom> symptoms) {
+        EnumSet<Symptom> current = getSymptoms(customerId, date);
+        EnumSet<Symptom> removed = EnumSet.copyOf(current);
+        removed.removeAll(symptoms);
+        removeSymptoms(customerId, date, removed);
+        addSymptoms(customerId, date, symptoms);
+    }
+
+    // Replaces the stored symptoms of every listed day; only the days that differ are written.
+    @Transactional
+    public SymptomBatchResultDTO applyBatch(Long customerId, List<SymptomDayEntry> days) {
+        if (days == null || days.isEmpty()) {
+            return new SymptomBatchResultDTO(0, 0, 0);
+        }
+        if (days.size() > MAX_BATCH_DAYS) {
+            throw new IllegalArgumentException("A batch may update at most " + MAX_BATCH_DAYS + " days");
+        }
+        TreeMap<LocalDate, EnumSet<Symptom>> desired = new TreeMap<>();
+        for (SymptomDayEntry day : days) {
+            if (day == null || day.date() == null) {
+                throw new IllegalArgumentException("Every entry needs a date");
+            }
+            EnumSet<Symptom> symptoms = EnumSet.noneOf(Symptom.class);
+            if (day.symptoms() != null) {
+                symptoms.addAll(day.symptoms());
+            }
+            if (desired.put(day.date(), symptoms) != null) {
+                throw new IllegalArgumentException("Duplicate entry for " + day.date());
+            }
+        }
+
+        Map<LocalDate, EnumSet<Symptom>> current = getSymptomsBetween(customerId, desired.firstKey(), desired.lastKey());
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        int changedDays = 0;
+        int added = 0;
+        int removed = 0;
+        for (Map.Entry<LocalDate, EnumSet<Symptom>> day : desired.entrySet()) {
+            LocalDate date = day.getKey();
+            EnumSet<Symptom> target = day.getValue();
+            EnumSet<Symptom> existing = current.getOrDefault(date, EnumSet.noneOf(Symptom.class));
+            if (existing.equals(target)) {
+                continue;
+            }
+            EnumSet<Symptom> toAdd = EnumSet.copyOf(target);
+            toAdd.removeAll(existing);
+            EnumSet<Symptom> toRemove = EnumSet.copyOf(existing);
+            toRemove.removeAll(target);
+            changedDays++;
+            added += toAdd.size();
+            removed += toRemove.size();
+
+            if (isCompactStorage()) {
+                if (target.isEmpty()) {
+                    deletes.add(new Object[]{customerId, Date.valueOf(date)});
+                } else {
+                    inserts.add(new Object[]{customerId, Date.valueOf(date), resolveCycleId(customerId, date), SymptomMask.of(target)});
+                }
+                continue;
+            }
+            Long cycleId = toAdd.isEmpty() ? null : resolveCycleId(customerId, date);
+            Timestamp dayStart = Timestamp.valueOf(date.atStartOfDay());
+            Timestamp dayEnd = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+            toAdd.forEach(symptom -> inserts.add(new Object[]{cycleId, dayStart, symptom.name()}));
+            toRemove.forEach(symptom -> deletes.add(new Object[]{customerId, dayStart, dayEnd, symptom.name()}));
+        }
+
+        if (isCompactStorage()) {
+            jdbcTemplate.batchUpdate(DELETE_SYMPTOM_LOG_SQL, deletes);
+            jdbcTemplate.batchUpdate(UPSERT_SYMPTOM_LOG_SQL, inserts);
+        } else {
+            jdbcTemplate.batchUpdate(DELETE_SYMPTOM_ROW_SQL, deletes);
+            jdbcTemplate.batchUpdate(INSERT_SYMPTOM_ROW_SQL, inserts);
+        }
+        return new SymptomBatchResultDTO(changedDays, added, removed);
+    }
+
+    // The cycle owning a date is the customer's latest one starting on or before it.
+    public Long resolveCycleId(Long customerId, LocalDate date) {
+        ActiveCycleCache.ActiveCycle active = activeCycleCache.get(customerId, id ->
+                cycleRepository.findByCustomerIdOrderByCycleStartDateDesc(id, PageRequest.of(0, 1)).stream()
+                        .findFirst()
+                        .map(cycle -> new ActiveCycleCache.ActiveCycle(cycle.getId(), cycle.getCycleStartDate()))
+                        .orElse(null));
+        if (active == null) {
+            throw new IllegalArgumentException("No cycles found");
+        }
+        if (!date.isBefore(active.startDate())) {
+            return active.cycleId();
+        }
+
+        return cycleRepository.findFirstByCustomerIdAndCycleStartDateLessThanEqualOrderByCycleStartDateDesc(customerId, date)
+                .map(Cycle::getId)
+                .orElseThrow(() -> new IllegalArgumentException("No cycle found covering " + date));
+    }
+
     public List<CycleSymptomByDate> getSymptomsByCycle(Long cycleId) {
+        if (isCompactStorage()) {
+            return expand(dailySymptomLogRepository.findByCycleIdOrderByDateAsc(cycleId));
+        }
         return cycleSymptomByDateRepository.findByCycleId(cycleId);
     }
 
+    public Map<Long, List<CycleSymptomByDate>> getSymptomsByCycleForCustomer(Long customerId) {
+        List<CycleSymptomByDate> symptoms = isCompactStorage()
+                ? expand(dailySymptomLogRepository.findByCustomerIdOrderByDateAsc(customerId))
+                : cycleSymptomByDateRepository.findByCustomerId(customerId);
+        return symptoms.stream().collect(Collectors.groupingBy(CycleSymptomByDate::getCycleId));
+    }
+
     public List<CycleSymptomByDate> getAllSymptoms() {
+        if (isCompactStorage()) {
+            return expand(dailySymptomLogRepository.findAll());
+        }
         return cycleSymptomByDateRepository.findAll();
     }
 
+    @Transactional
     public void deleteSymptom(Long cycleId, LocalDateTime date, Symptom symptom) {
+        if (isCompactStorage()) {
+            dailySymptomLogRepository.clearSymptomsByCycle(cycleId, date.toLocalDate(), SymptomMask.bit(symptom));
+            dailySymptomLogRepository.deleteIfEmptyByCycle(cycleId, date.toLocalDate());
+            return;
+        }
         Optional<CycleSymptomByDate> existingSymptom = cycleSymptomByDateRepository
                 .findByCycleIdAndDateAndSymptom(cycleId, date, symptom);
         
@@ -54,9 +305,26 @@ public class CycleSymptomByDateService {
         }
     }
 
-    public void deleteSymptomsByDate(LocalDateTime date) {
-        List<CycleSymptomByDate> symptoms = cycleSymptomByDateRepository.findByDate(date);
-        cycleSymptomByDateRepository.deleteAll(symptoms);
+    @Transactional
+    public void deleteSymptomsByDate(Long customerId, LocalDateTime date) {
+        if (isCompactStorage()) {
+            dailySymptomLogRepository.deleteByCustomerIdAndDate(customerId, date.toLocalDate());
+            return;
+        }
+        cycleSymptomByDateRepository.deleteByCustomerIdAndDate(customerId, date);
     }
-}
 
+    private List<CycleSymptomByDate> expand(List<DailySymptomLog> logs) {
+        List<CycleSymptomByDate> symptoms = new ArrayList<>();
+        for (DailySymptomLog log : logs) {
+            for (Symptom symptom : SymptomMask.toSet(log.getSymptomMask())) {
+                CycleSymptomByDate row = new CycleSymptomByDate();
+                row.setCycleId(log.getCycleId());
+                row.setDate(log.getDate().atStartOfDay());
+                row.setSymptom(symptom);
+                symptoms.add(row);
+            }
+        }
+        return symptoms;
+    }
+}
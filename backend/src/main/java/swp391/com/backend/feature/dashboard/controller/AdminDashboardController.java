@@ -1,16 +1,33 @@
 package swp391.com.backend.feature.dashboard.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import swp391.com.backend.common.util.AuthenticationUtil;
+import swp391.com.backend.feature.dashboard.data.ExportDataset;
+import swp391.com.backend.feature.dashboard.data.ExportFormat;
+import swp391.com.backend.feature.dashboard.dto.ActivityPageDTO;
 import swp391.com.backend.feature.dashboard.dto.AdminDashboardDTO;
 import swp391.com.backend.feature.dashboard.dto.RecentActivityDTO;
+import swp391.com.backend.feature.dashboard.dto.StreamTicketDTO;
 import swp391.com.backend.feature.dashboard.dto.SystemNotificationDTO;
+import swp391.com.backend.feature.dashboard.service.ActivityFeedService;
 import swp391.com.backend.feature.dashboard.service.AdminDashboardService;
+import swp391.com.backend.feature.dashboard.service.DashboardExportService;
+import swp391.com.backend.feature.dashboard.service.DashboardSnapshotCache;
+import swp391.com.backend.feature.dashboard.service.NotificationStreamService;
+import swp391.com.backend.feature.dashboard.service.NotificationStreamTicketService;
+import swp391.com.backend.feature.dashboard.service.RevenueRollupService;
 
 import java.util.List;
 
@@ -18,48 +35,90 @@ import java.util.List;
 @RequestMapping("/api/admin/dashboard")
 @RequiredArgsConstructor
 public class AdminDashboardController {
+    private static final int CACHED_YEARS = 5;
+    private static final int MAX_CACHED_LIMIT = 20;
 
     private final AdminDashboardService adminDashboardService;
+    private final RevenueRollupService revenueRollupService;
+    private final ActivityFeedService activityFeedService;
+    private final NotificationStreamService notificationStreamService;
+    private final NotificationStreamTicketService notificationStreamTicketService;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
+    private final DashboardExportService dashboardExportService;
+    private final AuthenticationUtil authenticationUtil;
 
     @GetMapping
     public ResponseEntity<AdminDashboardDTO> getDashboardData() {
-        return ResponseEntity.ok(adminDashboardService.getDashboardData());
+        return ResponseEntity.ok(dashboardSnapshotCache.get("dashboard", adminDashboardService::getDashboardData));
     }
 
     @GetMapping("/monthly-revenue")
     public ResponseEntity<java.util.List<AdminDashboardService.MonthlyRevenue>> getMonthlyRevenue(@RequestParam int year) {
-        return ResponseEntity.ok(adminDashboardService.getMonthlyRevenue(year));
+        int currentYear = java.time.Year.now().getValue();
+        if (year < currentYear - CACHED_YEARS || year > currentYear) {
+            return ResponseEntity.ok(adminDashboardService.getMonthlyRevenue(year));
+        }
+        return ResponseEntity.ok(dashboardSnapshotCache.get("monthly-revenue:" + year, () -> adminDashboardService.getMonthlyRevenue(year)));
     }
 
     @GetMapping("/service-distribution")
-    public ResponseEntity<java.util.List<AdminDashboardService.ServiceDistribution>> getServiceDistribution() {
-        return ResponseEntity.ok(adminDashboardService.getServiceDistribution());
+    public ResponseEntity<java.util.List<AdminDashboardService.ServiceDistribution>> getServiceDistribution(
+        @RequestParam(required = false) String from,
+        @RequestParam(required = false) String to,
+        @RequestParam(required = false) Integer limit
+    ) {
+        java.time.LocalDate fromDate = from != null ? java.time.LocalDate.parse(from) : null;
+        java.time.LocalDate toDate = to != null ? java.time.LocalDate.parse(to) : null;
+        // Only the default, unbounded-range view is cached; custom ranges would give every caller its own key.
+        if (fromDate != null || toDate != null || (limit != null && (limit < 1 || limit > MAX_CACHED_LIMIT))) {
+            return ResponseEntity.ok(adminDashboardService.getServiceDistribution(fromDate, toDate, limit));
+        }
+        return ResponseEntity.ok(dashboardSnapshotCache.get("service-distribution:" + limit,
+            () -> adminDashboardService.getServiceDistribution(null, null, limit)));
     }
 
     @GetMapping("/recent-activities")
     public ResponseEntity<List<RecentActivityDTO>> getRecentActivities() {
-        return ResponseEntity.ok(adminDashboardService.getRecentActivities());
+        return ResponseEntity.ok(dashboardSnapshotCache.get("recent-activities", adminDashboardService::getRecentActivities));
     }
 
     @GetMapping("/all-activities")
-    public ResponseEntity<List<RecentActivityDTO>> getAllActivities() {
-        return ResponseEntity.ok(adminDashboardService.getAllActivities());
+    public ResponseEntity<ActivityPageDTO> getAllActivities(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "30") int days
+    ) {
+        return ResponseEntity.ok(activityFeedService.getActivities(cursor, size, days));
     }
 
     @GetMapping("/notifications")
     public ResponseEntity<List<SystemNotificationDTO>> getSystemNotifications() {
-        return ResponseEntity.ok(adminDashboardService.getSystemNotifications());
+        return ResponseEntity.ok(adminDashboardService.getSystemNotifications(authenticationUtil.getCurrentAdminId()));
+    }
+
+    @PostMapping("/notifications/stream-ticket")
+    public ResponseEntity<StreamTicketDTO> issueNotificationStreamTicket() {
+        return ResponseEntity.ok(notificationStreamTicketService.issue(authenticationUtil.getCurrentAdminId()));
+    }
+
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSystemNotifications(
+        @RequestParam(required = false) String ticket,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Long subscriberId = ticket != null ? notificationStreamTicketService.resolve(ticket) : authenticationUtil.getCurrentAdminId();
+        return notificationStreamService.subscribe(subscriberId, lastEventId);
     }
 
     @GetMapping("/notifications/{id}/mark-read")
     public ResponseEntity<Void> markNotificationAsRead(@PathVariable String id) {
-        adminDashboardService.markNotificationAsRead(id);
+        adminDashboardService.markNotificationAsRead(authenticationUtil.getCurrentAdminId(), id);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/notifications/mark-all-read")
     public ResponseEntity<Void> markAllNotificationsAsRead() {
-        adminDashboardService.markAllNotificationsAsRead();
+        adminDashboardService.markAllNotificationsAsRead(authenticationUtil.getCurrentAdminId());
         return ResponseEntity.ok().build();
     }
 
@@ -73,6 +132,13 @@ public class AdminDashboardController {
         return ResponseEntity.ok(adminDashboardService.getDailyRevenue(fromDate, toDate));
     }
 
+    @PostMapping("/revenue-rollup/rebuild")
+    public ResponseEntity<Void> rebuildRevenueRollup() {
+        revenueRollupService.rebuildRollup();
+        dashboardSnapshotCache.invalidateAll();
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/daily-appointments")
     public ResponseEntity<java.util.List<AdminDashboardService.DailyAppointmentCount>> getDailyAppointments(
         @RequestParam String startDate,
@@ -92,5 +158,24 @@ public class AdminDashboardController {
         java.time.LocalDate toDate = java.time.LocalDate.parse(endDate);
         return ResponseEntity.ok(adminDashboardService.getDailyUserGrowth(fromDate, toDate));
     }
-}
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+        @RequestParam(defaultValue = "daily-series") String dataset,
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam String startDate,
+        @RequestParam String endDate,
+        @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        ExportDataset exportDataset = ExportDataset.fromParam(dataset);
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        java.time.LocalDate fromDate = java.time.LocalDate.parse(startDate);
+        java.time.LocalDate toDate = java.time.LocalDate.parse(endDate);
+        StreamingResponseBody body = dashboardExportService.export(exportDataset, exportFormat, fromDate, toDate, gzip);
+        String fileName = dashboardExportService.fileName(exportDataset, exportFormat, fromDate, toDate, gzip);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+            .body(body);
+    }
+}
@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.dashboard.data;
+
+// bucket is the first day of the DAY/WEEK/MONTH bucket, formatted yyyy-MM-dd
+public interface BucketCount {
+    String getBucket();
+    Long getTotal();
+}
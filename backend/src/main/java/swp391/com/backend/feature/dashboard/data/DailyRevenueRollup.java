@@ -0,0 +1,36 @@
+package swp391.com.backend.feature.dashboard.data;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_revenue_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_revenue_rollup_date_source", columnNames = {"date", "source"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RevenueSource source;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "item_count")
+    private Long itemCount;
+}
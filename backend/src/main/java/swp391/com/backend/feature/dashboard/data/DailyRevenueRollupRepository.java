@@ -0,0 +1,39 @@
+package swp391.com.backend.feature.dashboard.data;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, Long> {
+    List<DailyRevenueRollup> findByDateBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM DailyRevenueRollup r")
+    BigDecimal sumRevenue();
+
+    // Gives findForUpdate a row to lock for a date that has no revenue yet; a concurrent insert waits instead of failing.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_revenue_rollup (date, source, revenue, item_count) VALUES (:date, :source, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE date = date",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("date") LocalDate date, @Param("source") String source);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM DailyRevenueRollup r WHERE r.source = :source AND r.date IN :dates ORDER BY r.date")
+    List<DailyRevenueRollup> findForUpdate(@Param("source") RevenueSource source, @Param("dates") Collection<LocalDate> dates);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM DailyRevenueRollup r ORDER BY r.date, r.source")
+    List<DailyRevenueRollup> findAllForUpdate();
+}
@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.dashboard.data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenueRow(LocalDate date, BigDecimal revenue, Long itemCount) {}
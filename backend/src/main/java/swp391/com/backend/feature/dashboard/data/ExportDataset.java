@@ -0,0 +1,15 @@
+package swp391.com.backend.feature.dashboard.data;
+
+public enum ExportDataset {
+    DAILY_SERIES,
+    ACTIVITIES;
+
+    public static ExportDataset fromParam(String value) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export dataset: " + value);
+    }
+}
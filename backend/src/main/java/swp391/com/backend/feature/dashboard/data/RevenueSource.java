@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.dashboard.data;
+
+public enum RevenueSource {
+    EXAMINATION,
+    APPOINTMENT
+}
@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.dashboard.data;
+
+public enum TimeGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,5 @@
+package swp391.com.backend.feature.dashboard.dto;
+
+import java.util.List;
+
+public record ActivityPageDTO(List<RecentActivityDTO> items, String nextCursor) {}
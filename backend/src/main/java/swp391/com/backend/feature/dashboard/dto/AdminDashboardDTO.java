@@ -20,10 +20,13 @@ public record AdminDashboardDTO(
     long activeUsers,
     double avgInteractionsPerUser,
     double avgSessionTime,
-    double uptime,
+    double availability,
     double responseTime,
+    double responseTimeP99,
     double systemErrors,
-    double bandwidth
+    double bandwidth,
+    List<String> timedOutQueries,
+    List<String> failedQueries
 ) {}
 
 
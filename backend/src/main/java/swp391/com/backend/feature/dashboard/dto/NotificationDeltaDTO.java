@@ -0,0 +1,5 @@
+package swp391.com.backend.feature.dashboard.dto;
+
+import java.util.List;
+
+public record NotificationDeltaDTO(List<SystemNotificationDTO> added, List<String> removed) {}
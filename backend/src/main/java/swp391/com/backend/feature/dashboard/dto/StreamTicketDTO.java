@@ -0,0 +1,3 @@
+package swp391.com.backend.feature.dashboard.dto;
+
+public record StreamTicketDTO(String ticket, long expiresInMs) {}
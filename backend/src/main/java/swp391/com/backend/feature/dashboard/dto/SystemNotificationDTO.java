@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class SystemNotificationDTO {
     private String id;
+    private long version;
     private String message;
     private String type; // warning, info, error
     private String priority; // high, medium, low
@@ -0,0 +1,49 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque feed cursor: the last (timestamp, id) returned from each activity source.
+// A null position means the source has not been read yet.
+record ActivityCursor(Position appointment, Position examination, Position blog) {
+
+    record Position(LocalDateTime timestamp, Long id) {}
+
+    static ActivityCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new ActivityCursor(null, null, null);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid activity cursor");
+            }
+            return new ActivityCursor(decodePosition(parts[0]), decodePosition(parts[1]), decodePosition(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid activity cursor");
+        }
+    }
+
+    String encode() {
+        String raw = encodePosition(appointment) + "|" + encodePosition(examination) + "|" + encodePosition(blog);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodePosition(String part) {
+        if (part.isEmpty()) {
+            return null;
+        }
+        int separator = part.lastIndexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid activity cursor");
+        }
+        return new Position(LocalDateTime.parse(part.substring(0, separator)), Long.valueOf(part.substring(separator + 1)));
+    }
+
+    private static String encodePosition(Position position) {
+        return position == null ? "" : position.timestamp() + "," + position.id();
+    }
+}
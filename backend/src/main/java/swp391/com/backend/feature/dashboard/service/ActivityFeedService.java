@@ -0,0 +1,177 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import swp391.com.backend.feature.appointment.data.Appointment;
+import swp391.com.backend.feature.appointment.data.AppointmentRepository;
+import swp391.com.backend.feature.blog.data.Blog;
+import swp391.com.backend.feature.blog.data.BlogRepository;
+import swp391.com.backend.feature.dashboard.dto.ActivityPageDTO;
+import swp391.com.backend.feature.dashboard.dto.RecentActivityDTO;
+import swp391.com.backend.feature.dashboard.service.ActivityCursor.Position;
+import swp391.com.backend.feature.examination.data.Examination;
+import swp391.com.backend.feature.examination.data.ExaminationRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+
+@Service
+@RequiredArgsConstructor
+public class ActivityFeedService {
+    private static final LocalDateTime FEED_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_DAYS = 3650;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ExaminationRepository examinationRepository;
+    private final BlogRepository blogRepository;
+
+    public ActivityPageDTO getActivities(String cursor, int size, int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        ActivityCursor position = ActivityCursor.decode(cursor);
+
+        ActivityStream appointments = new ActivityStream(0, position.appointment(), pageSize,
+                (before, limit) -> fetchAppointments(since, before, limit));
+        ActivityStream examinations = new ActivityStream(1, position.examination(), pageSize,
+                (before, limit) -> fetchExaminations(since, before, limit));
+        ActivityStream blogs = new ActivityStream(2, position.blog(), pageSize,
+                (before, limit) -> fetchBlogs(since, before, limit));
+
+        PriorityQueue<ActivityStream> heads = new PriorityQueue<>(HEAD_ORDER);
+        for (ActivityStream stream : List.of(appointments, examinations, blogs)) {
+            if (stream.hasNext()) {
+                heads.add(stream);
+            }
+        }
+
+        List<RecentActivityDTO> items = new ArrayList<>(pageSize);
+        while (items.size() < pageSize && !heads.isEmpty()) {
+            ActivityStream stream = heads.poll();
+            items.add(stream.next());
+            if (stream.hasNext()) {
+                heads.add(stream);
+            }
+        }
+
+        String nextCursor = heads.isEmpty()
+                ? null
+                : new ActivityCursor(appointments.position, examinations.position, blogs.position).encode();
+        return new ActivityPageDTO(items, nextCursor);
+    }
+
+    private List<ActivityEntry> fetchAppointments(LocalDateTime since, Position before, int limit) {
+        return appointmentRepository.findActivityPage(
+                        since.toLocalDate(), before.timestamp().toLocalDate(), before.id(), PageRequest.of(0, limit))
+                .stream()
+                .map(this::toEntry)
+                .toList();
+    }
+
+    private List<ActivityEntry> fetchExaminations(LocalDateTime since, Position before, int limit) {
+        return examinationRepository.findActivityPage(
+                        since.toLocalDate(), before.timestamp().toLocalDate(), before.id(), PageRequest.of(0, limit))
+                .stream()
+                .map(this::toEntry)
+                .toList();
+    }
+
+    private List<ActivityEntry> fetchBlogs(LocalDateTime since, Position before, int limit) {
+        return blogRepository.findActivityPage(since, before.timestamp(), before.id(), PageRequest.of(0, limit))
+                .stream()
+                .map(this::toEntry)
+                .toList();
+    }
+
+    private ActivityEntry toEntry(Appointment app) {
+        String customerName = app.getCustomer() != null ? app.getCustomer().getName() : "Unknown";
+        String doctorName = app.getDoctor() != null ? app.getDoctor().getName() : "Unknown Doctor";
+        String statusText = app.getAppointmentStatus() != null ? app.getAppointmentStatus().toString() : "Unknown";
+        LocalDateTime timestamp = app.getDate().atStartOfDay();
+        return new ActivityEntry(timestamp, app.getId(), RecentActivityDTO.builder()
+                .time(timestamp.format(DateTimeFormatter.ofPattern("MM/dd")))
+                .action("Appointment: " + customerName + " with Dr. " + doctorName + " (" + statusText + ")")
+                .type("appointment")
+                .timestamp(timestamp)
+                .build());
+    }
+
+    private ActivityEntry toEntry(Examination exam) {
+        String customerName = exam.getCustomer() != null ? exam.getCustomer().getName() : "Unknown";
+        String panelName = exam.getPanel() != null ? exam.getPanel().getPanelName() : "Unknown Panel";
+        String statusText = exam.getExaminationStatus() != null ? exam.getExaminationStatus().toString() : "Unknown";
+        LocalDateTime timestamp = exam.getDate().atStartOfDay();
+        return new ActivityEntry(timestamp, exam.getId(), RecentActivityDTO.builder()
+                .time(timestamp.format(DateTimeFormatter.ofPattern("MM/dd")))
+                .action("STI Test: " + customerName + " - " + panelName + " (" + statusText + ")")
+                .type("sti-test")
+                .timestamp(timestamp)
+                .build());
+    }
+
+    private ActivityEntry toEntry(Blog blog) {
+        return new ActivityEntry(blog.getCreatedAt(), blog.getId(), RecentActivityDTO.builder()
+                .time(blog.getCreatedAt().format(DateTimeFormatter.ofPattern("MM/dd HH:mm")))
+                .action("New blog: " + blog.getTitle())
+                .type("blog")
+                .timestamp(blog.getCreatedAt())
+                .build());
+    }
+
+    private record ActivityEntry(LocalDateTime timestamp, Long id, RecentActivityDTO activity) {}
+
+    // Newest first; ties broken by source, then by id descending to match each source's ORDER BY.
+    private static final Comparator<ActivityStream> HEAD_ORDER = Comparator
+            .comparing((ActivityStream stream) -> stream.peek().timestamp(), Comparator.reverseOrder())
+            .thenComparingInt(stream -> stream.rank)
+            .thenComparing(stream -> stream.peek().id(), Comparator.reverseOrder());
+
+    // One source of the feed, read lazily in chunks of the page size from its last returned position.
+    private static final class ActivityStream {
+        private final int rank;
+        private final int chunkSize;
+        private final BiFunction<Position, Integer, List<ActivityEntry>> fetcher;
+        private final Deque<ActivityEntry> buffer = new ArrayDeque<>();
+        private Position position;
+        private boolean exhausted;
+
+        private ActivityStream(int rank, Position position, int chunkSize,
+                               BiFunction<Position, Integer, List<ActivityEntry>> fetcher) {
+            this.rank = rank;
+            this.position = position;
+            this.chunkSize = chunkSize;
+            this.fetcher = fetcher;
+        }
+
+        private boolean hasNext() {
+            if (buffer.isEmpty() && !exhausted) {
+                Position before = position != null ? position : new Position(FEED_START, Long.MAX_VALUE);
+                List<ActivityEntry> rows = fetcher.apply(before, chunkSize);
+                buffer.addAll(rows);
+                exhausted = rows.size() < chunkSize;
+            }
+            return !buffer.isEmpty();
+        }
+
+        private ActivityEntry peek() {
+            return buffer.peekFirst();
+        }
+
+        private RecentActivityDTO next() {
+            ActivityEntry entry = buffer.pollFirst();
+            position = new Position(entry.timestamp(), entry.id());
+            return entry.activity();
+        }
+    }
+}
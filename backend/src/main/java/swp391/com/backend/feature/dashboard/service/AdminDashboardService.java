@@ -2,11 +2,21 @@
 package swp391.com.backend.feature.dashboard.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import swp391.com.backend.common.metrics.RequestMetrics;
+import swp391.com.backend.common.metrics.RequestMetricsSnapshot;
 import swp391.com.backend.feature.account.data.AccountRepository;
+import swp391.com.backend.feature.account.data.AccountStatusCount;
 import swp391.com.backend.feature.appointment.data.AppointmentRepository;
 import swp391.com.backend.feature.appointment.data.AppointmentStatus;
+import swp391.com.backend.feature.appointment.data.AppointmentStatusCount;
 import swp391.com.backend.feature.blog.data.BlogRepository;
+import swp391.com.backend.feature.dashboard.data.BucketCount;
+import swp391.com.backend.feature.dashboard.data.TimeGranularity;
 import swp391.com.backend.feature.dashboard.dto.AdminDashboardDTO;
 import swp391.com.backend.feature.dashboard.dto.RecentActivityDTO;
 import swp391.com.backend.feature.dashboard.dto.SystemNotificationDTO;
@@ -14,14 +24,18 @@ import swp391.com.backend.feature.dashboard.dto.UserGrowthDTO;
 import swp391.com.backend.feature.dashboard.dto.AppointmentCountDTO;
 import swp391.com.backend.feature.examination.data.ExaminationRepository;
 import swp391.com.backend.feature.examination.data.ExaminationStatus;
+import swp391.com.backend.feature.examination.data.ExaminationStatusCount;
+import swp391.com.backend.feature.examination.data.PanelUsageRow;
+import swp391.com.backend.feature.notification.service.NotificationReadStateService;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
@@ -54,52 +68,35 @@ public class AdminDashboardService {
     }
 
     public List<DailyRevenue> getDailyRevenue(java.time.LocalDate from, java.time.LocalDate to) {
+        Map<java.time.LocalDate, Double> revenueByDate = revenueRollupService.getRevenueByDate(from, to);
         List<DailyRevenue> result = new ArrayList<>();
         java.time.LocalDate date = from;
         while (!date.isAfter(to)) {
-            final java.time.LocalDate currentDate = date;
-            double revenue = examinationRepository.findAll().stream()
-                .filter(exam -> exam.getPanel() != null && exam.getPanel().getPrice() != null)
-                .filter(exam -> exam.getExaminationStatus() == ExaminationStatus.COMPLETED ||
-                                exam.getExaminationStatus() == ExaminationStatus.EXAMINED)
-                .filter(exam -> exam.getDate() != null && exam.getDate().isEqual(currentDate))
-                .mapToDouble(exam -> exam.getPanel().getPrice().doubleValue())
-                .sum();
-            revenue += appointmentRepository.findAll().stream()
-                .filter(app -> app.getAppointmentStatus() == AppointmentStatus.FINISHED)
-                .filter(app -> app.getDoctor() != null && app.getDoctor().getPrice() != null)
-                .filter(app -> app.getDate() != null && app.getDate().isEqual(currentDate))
-                .mapToDouble(app -> app.getDoctor().getPrice().doubleValue())
-                .sum();
-            result.add(new DailyRevenue(currentDate.toString(), revenue));
+            result.add(new DailyRevenue(date.toString(), revenueByDate.getOrDefault(date, 0.0)));
             date = date.plusDays(1);
         }
         return result;
     }
 
     public List<DailyAppointmentCount> getDailyAppointments(java.time.LocalDate from, java.time.LocalDate to) {
+        Map<String, Long> countByDay = toBucketMap(
+            appointmentRepository.countByDateBucket(from, to, TimeGranularity.DAY.name()));
         List<DailyAppointmentCount> result = new ArrayList<>();
         java.time.LocalDate date = from;
         while (!date.isAfter(to)) {
-            final java.time.LocalDate currentDate = date;
-            long count = appointmentRepository.findAll().stream()
-                .filter(app -> app.getDate() != null && app.getDate().isEqual(currentDate))
-                .count();
-            result.add(new DailyAppointmentCount(currentDate.toString(), count));
+            result.add(new DailyAppointmentCount(date.toString(), countByDay.getOrDefault(date.toString(), 0L)));
             date = date.plusDays(1);
         }
         return result;
     }
 
     public List<DailyUserGrowth> getDailyUserGrowth(java.time.LocalDate from, java.time.LocalDate to) {
+        Map<String, Long> newUsersByDay = toBucketMap(
+            accountRepository.countCreatedByBucket(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), TimeGranularity.DAY.name()));
         List<DailyUserGrowth> result = new ArrayList<>();
         java.time.LocalDate date = from;
         while (!date.isAfter(to)) {
-            final java.time.LocalDate currentDate = date;
-            long newUsers = accountRepository.findAll().stream()
-                .filter(acc -> acc.getCreatedAt() != null && acc.getCreatedAt().toLocalDate().isEqual(currentDate))
-                .count();
-            result.add(new DailyUserGrowth(currentDate.toString(), newUsers));
+            result.add(new DailyUserGrowth(date.toString(), newUsersByDay.getOrDefault(date.toString(), 0L)));
             date = date.plusDays(1);
         }
         return result;
@@ -110,26 +107,9 @@ public class AdminDashboardService {
 
         for (int m = 1; m <= 12; m++) revenueByMonth.put(m, 0.0);
 
-        examinationRepository.findAll().stream()
-            .filter(exam -> exam.getPanel() != null && exam.getPanel().getPrice() != null)
-            .filter(exam -> exam.getExaminationStatus() == ExaminationStatus.COMPLETED ||
-                            exam.getExaminationStatus() == ExaminationStatus.EXAMINED)
-            .filter(exam -> exam.getDate() != null && exam.getDate().getYear() == year)
-            .forEach(exam -> {
-                int month = exam.getDate().getMonthValue();
-                double price = exam.getPanel().getPrice().doubleValue();
-                revenueByMonth.put(month, revenueByMonth.get(month) + price);
-            });
+        revenueRollupService.getRevenueByDate(java.time.LocalDate.of(year, 1, 1), java.time.LocalDate.of(year, 12, 31))
+            .forEach((date, revenue) -> revenueByMonth.merge(date.getMonthValue(), revenue, Double::sum));
 
-        appointmentRepository.findAll().stream()
-            .filter(app -> app.getAppointmentStatus() == AppointmentStatus.FINISHED)
-            .filter(app -> app.getDoctor() != null && app.getDoctor().getPrice() != null)
-            .filter(app -> app.getDate() != null && app.getDate().getYear() == year)
-            .forEach(app -> {
-                int month = app.getDate().getMonthValue();
-                double price = app.getDoctor().getPrice().doubleValue();
-                revenueByMonth.put(month, revenueByMonth.get(month) + price);
-            });
         java.util.List<MonthlyRevenue> result = new java.util.ArrayList<>();
         for (int m = 1; m <= 12; m++) {
             result.add(new MonthlyRevenue(m, revenueByMonth.get(m)));
@@ -137,17 +117,22 @@ public class AdminDashboardService {
         return result;
     }
 
-    public java.util.List<ServiceDistribution> getServiceDistribution() {
-        java.util.Map<String, Integer> panelCount = new java.util.HashMap<>();
-        examinationRepository.findAll().stream()
-            .filter(exam -> exam.getPanel() != null)
-            .forEach(exam -> {
-                String panelName = exam.getPanel().getPanelName();
-                panelCount.put(panelName, panelCount.getOrDefault(panelName, 0) + 1);
-            });
-        java.util.List<ServiceDistribution> result = new java.util.ArrayList<>();
-        for (var entry : panelCount.entrySet()) {
-            result.add(new ServiceDistribution(entry.getKey(), entry.getValue()));
+    public java.util.List<ServiceDistribution> getServiceDistribution(java.time.LocalDate from, java.time.LocalDate to, Integer limit) {
+        List<PanelUsageRow> rows = examinationRepository.countByPanel(from, to, Pageable.unpaged());
+        int shown = limit != null && limit > 0 ? Math.min(limit, rows.size()) : rows.size();
+
+        java.util.List<ServiceDistribution> result = new java.util.ArrayList<>(shown + 1);
+        for (PanelUsageRow row : rows.subList(0, shown)) {
+            result.add(new ServiceDistribution(row.panelId(), row.panelName(), row.count().intValue(), row.revenue().doubleValue()));
+        }
+        if (shown < rows.size()) {
+            long otherCount = 0;
+            java.math.BigDecimal otherRevenue = java.math.BigDecimal.ZERO;
+            for (PanelUsageRow row : rows.subList(shown, rows.size())) {
+                otherCount += row.count();
+                otherRevenue = otherRevenue.add(row.revenue());
+            }
+            result.add(new ServiceDistribution(null, "Other", (int) otherCount, otherRevenue.doubleValue()));
         }
         return result;
     }
@@ -161,11 +146,15 @@ public class AdminDashboardService {
         }
     }
     public static class ServiceDistribution {
+        public Long panelId;
         public String name;
         public int value;
-        public ServiceDistribution(String name, int value) {
+        public double revenue;
+        public ServiceDistribution(Long panelId, String name, int value, double revenue) {
+            this.panelId = panelId;
             this.name = name;
             this.value = value;
+            this.revenue = revenue;
         }
     }
 
@@ -173,57 +162,57 @@ public class AdminDashboardService {
     private final BlogRepository blogRepository;
     private final AppointmentRepository appointmentRepository;
     private final ExaminationRepository examinationRepository;
+    private final RevenueRollupService revenueRollupService;
+    @Qualifier("dashboardExecutor")
+    private final Executor dashboardExecutor;
+    private final NotificationReadStateService notificationReadStateService;
+    private final RequestMetrics requestMetrics;
 
-    public AdminDashboardDTO getDashboardData() {
+    @Value("${dashboard.parallel.enabled:true}")
+    private boolean parallelEnabled;
 
-        long totalAccounts = accountRepository.count();
-        long totalBlogs = blogRepository.count();
-        long totalAppointments = appointmentRepository.count();
-        long totalExaminations = examinationRepository.count();
-
-        double examinationRevenue = examinationRepository.findAll().stream()
-            .filter(exam -> exam.getPanel() != null && exam.getPanel().getPrice() != null)
-            .filter(exam -> exam.getExaminationStatus() == ExaminationStatus.COMPLETED ||
-                            exam.getExaminationStatus() == ExaminationStatus.EXAMINED)
-            .mapToDouble(exam -> exam.getPanel().getPrice().doubleValue())
-            .sum();
-        double appointmentRevenue = appointmentRepository.findAll().stream()
-            .filter(app -> app.getAppointmentStatus() == AppointmentStatus.FINISHED)
-            .filter(app -> app.getDoctor() != null && app.getDoctor().getPrice() != null)
-            .mapToDouble(app -> app.getDoctor().getPrice().doubleValue())
-            .sum();
-        double totalRevenue = examinationRevenue + appointmentRevenue;
+    @Value("${dashboard.parallel.timeout-ms:3000}")
+    private long subQueryTimeoutMillis;
 
-        List<UserGrowthDTO> userGrowthByMonth = new ArrayList<>();
+    public AdminDashboardDTO getDashboardData() {
+        DashboardQueryFanOut fanOut = new DashboardQueryFanOut(
+            parallelEnabled ? dashboardExecutor : Runnable::run, subQueryTimeoutMillis);
         java.time.Year currentYear = java.time.Year.now();
-        for (int m = 1; m <= 12; m++) {
-            final int month = m;
-            long newUsers = accountRepository.findAll().stream()
-                .filter(acc -> acc.getCreatedAt() != null && acc.getCreatedAt().getYear() == currentYear.getValue() && acc.getCreatedAt().getMonthValue() == month)
-                .count();
-            userGrowthByMonth.add(new UserGrowthDTO(month, newUsers));
-        }
 
-        List<AppointmentCountDTO> appointmentsByMonth = new ArrayList<>();
-        for (int m = 1; m <= 12; m++) {
-            final int month = m;
-            long count = appointmentRepository.findAll().stream()
-                .filter(app -> app.getDate() != null && app.getDate().getYear() == currentYear.getValue() && app.getDate().getMonthValue() == month)
-                .count();
-            appointmentsByMonth.add(new AppointmentCountDTO(month, count));
-        }
+        CompletableFuture<Long> totalAccountsQuery = fanOut.submit("totalAccounts", accountRepository::count, 0L);
+        CompletableFuture<Long> totalBlogsQuery = fanOut.submit("totalBlogs", blogRepository::count, 0L);
+        CompletableFuture<Long> totalAppointmentsQuery = fanOut.submit("totalAppointments", appointmentRepository::count, 0L);
+        CompletableFuture<Long> totalExaminationsQuery = fanOut.submit("totalExaminations", examinationRepository::count, 0L);
+        CompletableFuture<Double> totalRevenueQuery = fanOut.submit("totalRevenue", revenueRollupService::getTotalRevenue, 0.0);
+        CompletableFuture<List<UserGrowthDTO>> userGrowthQuery = fanOut.submit("userGrowthByMonth",
+            () -> getUserGrowthByMonth(currentYear), List.of());
+        CompletableFuture<List<AppointmentCountDTO>> appointmentsQuery = fanOut.submit("appointmentsByMonth",
+            () -> getAppointmentsByMonth(currentYear), List.of());
+
+        long totalAccounts = totalAccountsQuery.join();
+        long totalBlogs = totalBlogsQuery.join();
+        long totalAppointments = totalAppointmentsQuery.join();
+        long totalExaminations = totalExaminationsQuery.join();
+        double totalRevenue = totalRevenueQuery.join();
+        List<UserGrowthDTO> userGrowthByMonth = userGrowthQuery.join();
+        List<AppointmentCountDTO> appointmentsByMonth = appointmentsQuery.join();
 
         double satisfactionRate = 95.0;
         double returnRate = 78.0;
         double avgWaitTime = 15.0;
         double avgRating = 4.8;
-        long activeUsers = 1245;
         double avgInteractionsPerUser = 3.2;
-        double avgSessionTime = 12.58; // minutes
-        double uptime = 99.9;
-        double responseTime = 0.8;
-        double systemErrors = 0.1;
-        double bandwidth = 85.0;
+
+        RequestMetricsSnapshot metrics = requestMetrics.snapshot();
+        long activeUsers = metrics.activeUsers();
+        double avgSessionTime = round2(metrics.avgSessionMinutes());
+        double availability = metrics.requests() == 0 ? 100.0
+                : round2(100.0 * (metrics.requests() - metrics.serverErrors()) / metrics.requests());
+        double responseTime = round2(metrics.p50Millis() / 1000.0);
+        double responseTimeP99 = round2(metrics.p99Millis() / 1000.0);
+        double systemErrors = metrics.requests() == 0 ? 0.0
+                : round2(100.0 * metrics.handledErrors() / metrics.requests());
+        double bandwidth = round2(metrics.bytesPerSecond() / 1024.0); // KB/s
 
         return AdminDashboardDTO.builder()
                 .totalAccounts(totalAccounts)
@@ -241,13 +230,38 @@ public class AdminDashboardService {
                 .activeUsers(activeUsers)
                 .avgInteractionsPerUser(avgInteractionsPerUser)
                 .avgSessionTime(avgSessionTime)
-                .uptime(uptime)
+                .availability(availability)
                 .responseTime(responseTime)
+                .responseTimeP99(responseTimeP99)
                 .systemErrors(systemErrors)
                 .bandwidth(bandwidth)
+                .timedOutQueries(fanOut.getTimedOutQueries())
+                .failedQueries(fanOut.getFailedQueries())
                 .build();
     }
 
+    private List<UserGrowthDTO> getUserGrowthByMonth(java.time.Year year) {
+        Map<String, Long> newUsersByMonth = toBucketMap(accountRepository.countCreatedByBucket(
+            year.atDay(1).atStartOfDay(), year.plusYears(1).atDay(1).atStartOfDay(), TimeGranularity.MONTH.name()));
+        List<UserGrowthDTO> userGrowthByMonth = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            String bucket = year.atMonth(m).atDay(1).toString();
+            userGrowthByMonth.add(new UserGrowthDTO(m, newUsersByMonth.getOrDefault(bucket, 0L)));
+        }
+        return userGrowthByMonth;
+    }
+
+    private List<AppointmentCountDTO> getAppointmentsByMonth(java.time.Year year) {
+        Map<String, Long> appointmentCountByMonth = toBucketMap(appointmentRepository.countByDateBucket(
+            year.atDay(1), year.atMonth(12).atEndOfMonth(), TimeGranularity.MONTH.name()));
+        List<AppointmentCountDTO> appointmentsByMonth = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            String bucket = year.atMonth(m).atDay(1).toString();
+            appointmentsByMonth.add(new AppointmentCountDTO(m, appointmentCountByMonth.getOrDefault(bucket, 0L)));
+        }
+        return appointmentsByMonth;
+    }
+
     public List<RecentActivityDTO> getRecentActivities() {
         List<RecentActivityDTO> activities = new ArrayList<>();
 
@@ -303,185 +317,160 @@ public class AdminDashboardService {
             .collect(Collectors.toList());
     }
 
-    public List<RecentActivityDTO> getAllActivities() {
-        List<RecentActivityDTO> activities = new ArrayList<>();
-
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        
-        appointmentRepository.findAll().stream()
-            .filter(app -> app.getDate() != null && app.getDate().isAfter(thirtyDaysAgo.toLocalDate()))
-            .sorted((a, b) -> b.getDate().compareTo(a.getDate()))
-            .forEach(app -> {
-                String customerName = app.getCustomer() != null ? app.getCustomer().getName() : "Unknown";
-                String doctorName = app.getDoctor() != null ? app.getDoctor().getName() : "Unknown Doctor";
-                String statusText = app.getAppointmentStatus() != null ? app.getAppointmentStatus().toString() : "Unknown";
-                activities.add(RecentActivityDTO.builder()
-                    .time(app.getDate().atStartOfDay().format(DateTimeFormatter.ofPattern("MM/dd")))
-                    .action("Appointment: " + customerName + " with Dr. " + doctorName + " (" + statusText + ")")
-                    .type("appointment")
-                    .timestamp(app.getDate().atStartOfDay())
-                    .build());
-            });
-
-        examinationRepository.findAll().stream()
-            .filter(exam -> exam.getDate() != null && exam.getDate().isAfter(thirtyDaysAgo.toLocalDate()))
-            .sorted((a, b) -> b.getDate().compareTo(a.getDate()))
-            .forEach(exam -> {
-                String customerName = exam.getCustomer() != null ? exam.getCustomer().getName() : "Unknown";
-                String panelName = exam.getPanel() != null ? exam.getPanel().getPanelName() : "Unknown Panel";
-                String statusText = exam.getExaminationStatus() != null ? exam.getExaminationStatus().toString() : "Unknown";
-                activities.add(RecentActivityDTO.builder()
-                    .time(exam.getDate().atStartOfDay().format(DateTimeFormatter.ofPattern("MM/dd")))
-                    .action("STI Test: " + customerName + " - " + panelName + " (" + statusText + ")")
-                    .type("sti-test")
-                    .timestamp(exam.getDate().atStartOfDay())
-                    .build());
-            });
-
-        blogRepository.findAll().stream()
-            .filter(blog -> blog.getCreatedAt() != null && blog.getCreatedAt().isAfter(thirtyDaysAgo))
-            .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-            .forEach(blog -> {
-                activities.add(RecentActivityDTO.builder()
-                    .time(blog.getCreatedAt().format(DateTimeFormatter.ofPattern("MM/dd HH:mm")))
-                    .action("New blog: " + blog.getTitle())
-                    .type("blog")
-                    .timestamp(blog.getCreatedAt())
-                    .build());
-            });
-
-        return activities.stream()
-            .sorted(Comparator.comparing(RecentActivityDTO::getTimestamp).reversed())
-            .collect(Collectors.toList());
+    public List<SystemNotificationDTO> getSystemNotifications(Long adminId) {
+        Map<String, Long> readVersions = notificationReadStateService.getReadVersions(adminId);
+        List<SystemNotificationDTO> notifications = buildSystemNotifications();
+        for (SystemNotificationDTO notification : notifications) {
+            notification.setRead(NotificationReadStateService.isRead(readVersions, notification.getId(), notification.getVersion()));
+        }
+        return notifications;
     }
 
-    public List<SystemNotificationDTO> getSystemNotifications() {
+    public List<SystemNotificationDTO> buildSystemNotifications() {
         List<SystemNotificationDTO> notifications = new ArrayList<>();
+        java.time.LocalDate today = java.time.LocalDate.now();
+
+        long pendingAccounts = 0;
+        for (AccountStatusCount row : accountRepository.countByStatus()) {
+            if (!Boolean.TRUE.equals(row.getStatus())) {
+                pendingAccounts += row.getTotal();
+            }
+        }
+
+        Map<ExaminationStatus, ExaminationStatusCount> examinationCounts = new java.util.EnumMap<>(ExaminationStatus.class);
+        examinationRepository.countByStatus(today).stream()
+            .filter(row -> row.getStatus() != null)
+            .forEach(row -> examinationCounts.put(row.getStatus(), row));
+
+        long pendingAppointments = 0;
+        long todayAppointments = 0;
+        for (AppointmentStatusCount row : appointmentRepository.countByStatus(today)) {
+            if (row.getStatus() == AppointmentStatus.BOOKED) {
+                pendingAppointments += row.getTotal();
+            }
+            if (row.getStatus() != AppointmentStatus.CANCELLED && row.getStatus() != AppointmentStatus.FINISHED) {
+                todayAppointments += row.getOnDate();
+            }
+        }
 
-        long pendingAccounts = accountRepository.findAll().stream()
-            .filter(account -> !account.getStatus()) // status = false means pending
-            .count();
-        
         if (pendingAccounts > 0) {
-            String id = "accounts-pending-" + pendingAccounts;
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("accounts-pending")
+                .version(pendingAccounts)
                 .message(pendingAccounts + (pendingAccounts > 1 ? " accounts are" : " account is") + " pending approval")
                 .type("warning")
                 .priority("medium")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
 
 
-        long sampledExams = examinationRepository.findAll().stream()
-            .filter(exam -> exam.getExaminationStatus() == ExaminationStatus.SAMPLED)
-            .count();
+        long sampledExams = examinationCounts.containsKey(ExaminationStatus.SAMPLED)
+            ? examinationCounts.get(ExaminationStatus.SAMPLED).getTotal() : 0;
         
         if (sampledExams > 0) {
-            String id = "examinations-sampled-" + sampledExams;
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("examinations-sampled")
+                .version(sampledExams)
                 .message(sampledExams + (sampledExams > 1 ? " examinations have" : " examination has") + " samples ready for analysis")
                 .type("info")
                 .priority(sampledExams > 5 ? "high" : "medium")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
 
-        long examinedExams = examinationRepository.findAll().stream()
-            .filter(exam -> exam.getExaminationStatus() == ExaminationStatus.EXAMINED)
-            .count();
+        long examinedExams = examinationCounts.containsKey(ExaminationStatus.EXAMINED)
+            ? examinationCounts.get(ExaminationStatus.EXAMINED).getTotal() : 0;
         
         if (examinedExams > 0) {
-            String id = "examinations-examined-" + examinedExams;
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("examinations-examined")
+                .version(examinedExams)
                 .message(examinedExams + (examinedExams > 1 ? " examinations need" : " examination needs") + " final approval")
                 .type("warning")
                 .priority("high")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
 
-        long overdueExams = examinationRepository.findAll().stream()
-            .filter(exam -> 
-                exam.getExaminationStatus() == ExaminationStatus.PENDING &&
-                exam.getDate() != null && 
-                exam.getDate().isBefore(java.time.LocalDate.now())
-            )
-            .count();
+        long overdueExams = examinationCounts.containsKey(ExaminationStatus.PENDING)
+            ? examinationCounts.get(ExaminationStatus.PENDING).getBeforeDate() : 0;
         
         if (overdueExams > 0) {
-            String id = "examinations-overdue-" + overdueExams;
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("examinations-overdue")
+                .version(overdueExams)
                 .message(overdueExams + (overdueExams > 1 ? " overdue examinations require" : " overdue examination requires") + " attention")
                 .type("error")
                 .priority("high")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
 
-        long pendingAppointments = appointmentRepository.findAll().stream()
-            .filter(app -> app.getAppointmentStatus() == AppointmentStatus.BOOKED)
-            .count();
-        
         if (pendingAppointments > 0) {
-            String id = "appointments-pending-" + pendingAppointments;
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("appointments-pending")
+                .version(pendingAppointments)
                 .message(pendingAppointments + (pendingAppointments > 1 ? " appointments are" : " appointment is") + " waiting for confirmation")
                 .type("info")
                 .priority(pendingAppointments > 10 ? "high" : "low")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
 
-        long todayAppointments = appointmentRepository.findAll().stream()
-            .filter(app -> app.getDate() != null && app.getDate().equals(java.time.LocalDate.now()))
-            .filter(app -> app.getAppointmentStatus() != AppointmentStatus.CANCELLED 
-                    && app.getAppointmentStatus() != AppointmentStatus.FINISHED)
-            .count();
-            
         if (todayAppointments > 0) {
-            String id = "appointments-today-" + todayAppointments;
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("appointments-today")
+                .version(todayAppointments)
                 .message(todayAppointments + (todayAppointments > 1 ? " appointments" : " appointment") + " scheduled for today")
                 .type("warning")
                 .priority("medium")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
 
 
 
-        if (java.time.LocalDate.now().getDayOfMonth() == 1) {
-            String id = "system-maintenance-monthly";
+        if (today.getDayOfMonth() == 1) {
             notifications.add(SystemNotificationDTO.builder()
-                .id(id)
+                .id("system-maintenance-monthly")
+                .version(today.getYear() * 100L + today.getMonthValue())
                 .message("System maintenance scheduled for tonight at 23:00")
                 .type("error")
                 .priority("medium")
-                .isRead(notificationReadStatus.getOrDefault(id, false))
+                .isRead(false)
                 .build());
         }
-        
+
         return notifications;
     }
 
-    private final Map<String, Boolean> notificationReadStatus = new HashMap<>();
+    public void markNotificationAsRead(Long adminId, String id) {
+        buildSystemNotifications().stream()
+            .filter(notification -> notification.getId().equals(id))
+            .findFirst()
+            .ifPresent(notification -> notificationReadStateService.markAsRead(adminId, id, notification.getVersion()));
+    }
 
-    public void markNotificationAsRead(String id) {
-        notificationReadStatus.put(id, true);
+    public void markAllNotificationsAsRead(Long adminId) {
+        notificationReadStateService.markAllAsRead(adminId, currentVersions(buildSystemNotifications()));
     }
 
-    public void markAllNotificationsAsRead() {
-        List<SystemNotificationDTO> notifications = getSystemNotifications();
-        for (SystemNotificationDTO notification : notifications) {
-            notificationReadStatus.put(notification.getId(), true);
-        }
+    @Scheduled(cron = "${notification.read-state.prune-cron:0 0 * * * *}")
+    public void pruneNotificationReadState() {
+        notificationReadStateService.prune(currentVersions(buildSystemNotifications()));
     }
-}
 
+    private Map<String, Long> currentVersions(List<SystemNotificationDTO> notifications) {
+        return notifications.stream()
+            .collect(Collectors.toMap(SystemNotificationDTO::getId, SystemNotificationDTO::getVersion));
+    }
+
+    private double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private Map<String, Long> toBucketMap(List<BucketCount> rows) {
+        return rows.stream().collect(Collectors.toMap(BucketCount::getBucket, BucketCount::getTotal));
+    }
+}
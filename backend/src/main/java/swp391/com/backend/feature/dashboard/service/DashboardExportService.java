@@ -0,0 +1,206 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import swp391.com.backend.feature.appointment.data.AppointmentStatus;
+import swp391.com.backend.feature.dashboard.data.ExportDataset;
+import swp391.com.backend.feature.dashboard.data.ExportFormat;
+import swp391.com.backend.feature.examination.data.ExaminationStatus;
+import swp391.com.backend.feature.schedule.data.Slot;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class DashboardExportService {
+    private static final List<String> DAILY_SERIES_COLUMNS = List.of("date", "revenue", "appointments", "newUsers");
+    private static final List<String> ACTIVITY_COLUMNS = List.of("type", "id", "date", "slot", "status", "customer", "subject", "amount");
+
+    private static final String DAILY_SERIES_SQL =
+            "SELECT d, SUM(revenue) AS revenue, SUM(appointments) AS appointments, SUM(new_users) AS new_users FROM (" +
+            " SELECT r.date AS d, r.revenue AS revenue, 0 AS appointments, 0 AS new_users" +
+            " FROM daily_revenue_rollup r WHERE r.date BETWEEN ? AND ?" +
+            " UNION ALL" +
+            " SELECT a.date, 0, COUNT(*), 0 FROM appointments a WHERE a.date BETWEEN ? AND ? GROUP BY a.date" +
+            " UNION ALL" +
+            " SELECT DATE(u.created_at), 0, 0, COUNT(*) FROM accounts u" +
+            " WHERE u.created_at >= ? AND u.created_at < ? GROUP BY DATE(u.created_at)" +
+            ") series GROUP BY d ORDER BY d";
+
+    private static final String ACTIVITIES_SQL =
+            "SELECT 'appointment' AS type, a.id, a.date, a.slot, a.appointment_status AS status," +
+            " c.name AS customer, d.name AS subject, d.price AS amount" +
+            " FROM appointments a" +
+            " LEFT JOIN customers c ON c.id = a.customer_id" +
+            " LEFT JOIN doctors d ON d.id = a.doctor_id" +
+            " WHERE a.date BETWEEN ? AND ?" +
+            " UNION ALL" +
+            " SELECT 'sti-test', e.id, e.date, e.slot, e.examination_status," +
+            " c.name, p.panel_name, p.price" +
+            " FROM examinations e" +
+            " LEFT JOIN customers c ON c.id = e.customer_id" +
+            " LEFT JOIN panels p ON p.id = e.panel_id" +
+            " WHERE e.date BETWEEN ? AND ?" +
+            " ORDER BY date, type, id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DashboardExportService(DataSource dataSource, ObjectMapper objectMapper) {
+        // MySQL Connector/J only streams rows one at a time (instead of buffering the whole result) with this fetch size.
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.objectMapper = objectMapper;
+    }
+
+    public String fileName(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to, boolean gzip) {
+        return dataset.name().toLowerCase().replace('_', '-') + "_" + from + "_" + to + "." + format.getExtension()
+                + (gzip ? ".gz" : "");
+    }
+
+    public StreamingResponseBody export(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to, boolean gzip) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Export end date must not be before start date");
+        }
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 8192);
+            RowWriter rows = new RowWriter(writer, format,
+                    dataset == ExportDataset.DAILY_SERIES ? DAILY_SERIES_COLUMNS : ACTIVITY_COLUMNS);
+            try {
+                rows.writeHeader();
+                if (dataset == ExportDataset.DAILY_SERIES) {
+                    streamDailySeries(rows, from, to);
+                } else {
+                    streamActivities(rows, from, to);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+    }
+
+    // The series is sparse in the database; missing days are filled with zeros as the cursor advances.
+    private void streamDailySeries(RowWriter rows, LocalDate from, LocalDate to) {
+        LocalDate[] next = {from};
+        streamingJdbcTemplate.query(DAILY_SERIES_SQL, (ResultSet rs) -> {
+            LocalDate date = rs.getDate("d").toLocalDate();
+            for (; next[0].isBefore(date); next[0] = next[0].plusDays(1)) {
+                rows.write(next[0], BigDecimal.ZERO, 0L, 0L);
+            }
+            rows.write(date, orZero(rs.getBigDecimal("revenue")), rs.getLong("appointments"), rs.getLong("new_users"));
+            next[0] = date.plusDays(1);
+        }, Date.valueOf(from), Date.valueOf(to),
+                Date.valueOf(from), Date.valueOf(to),
+                Date.valueOf(from), Date.valueOf(to.plusDays(1)));
+        for (; !next[0].isAfter(to); next[0] = next[0].plusDays(1)) {
+            rows.write(next[0], BigDecimal.ZERO, 0L, 0L);
+        }
+    }
+
+    private void streamActivities(RowWriter rows, LocalDate from, LocalDate to) {
+        streamingJdbcTemplate.query(ACTIVITIES_SQL, (ResultSet rs) -> {
+            String type = rs.getString("type");
+            rows.write(type,
+                    rs.getLong("id"),
+                    rs.getDate("date").toLocalDate(),
+                    slotLabel(rs),
+                    statusName(type, rs),
+                    rs.getString("customer"),
+                    rs.getString("subject"),
+                    rs.getBigDecimal("amount"));
+        }, Date.valueOf(from), Date.valueOf(to), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private String slotLabel(ResultSet rs) throws SQLException {
+        int ordinal = rs.getInt("slot");
+        return rs.wasNull() ? null : Slot.values()[ordinal].getTimeRange();
+    }
+
+    private String statusName(String type, ResultSet rs) throws SQLException {
+        int ordinal = rs.getInt("status");
+        if (rs.wasNull()) {
+            return null;
+        }
+        return "appointment".equals(type)
+                ? AppointmentStatus.values()[ordinal].name()
+                : ExaminationStatus.values()[ordinal].name();
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private final class RowWriter {
+        private final Writer writer;
+        private final ExportFormat format;
+        private final List<String> columns;
+
+        private RowWriter(Writer writer, ExportFormat format, List<String> columns) {
+            this.writer = writer;
+            this.format = format;
+            this.columns = columns;
+        }
+
+        private void writeHeader() throws IOException {
+            if (format == ExportFormat.CSV) {
+                writer.write(String.join(",", columns));
+                writer.write('\n');
+            }
+        }
+
+        private void write(Object... values) {
+            try {
+                if (format == ExportFormat.CSV) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writer.write(csvField(values[i]));
+                    }
+                } else {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < values.length; i++) {
+                        row.put(columns.get(i), values[i] instanceof LocalDate date ? date.toString() : values[i]);
+                    }
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String csvField(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
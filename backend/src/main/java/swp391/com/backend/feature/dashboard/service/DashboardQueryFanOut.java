@@ -0,0 +1,53 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Runs independent dashboard sub-queries on an executor. A sub-query that times out or
+// fails resolves to its fallback value and is recorded by name instead of failing the caller.
+class DashboardQueryFanOut {
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final List<String> timedOutQueries = new CopyOnWriteArrayList<>();
+    private final List<String> failedQueries = new CopyOnWriteArrayList<>();
+
+    DashboardQueryFanOut(Executor executor, long timeoutMillis) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    <T> CompletableFuture<T> submit(String name, Supplier<T> query, T fallback) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(query, executor);
+        } catch (RuntimeException e) {
+            failedQueries.add(name);
+            return CompletableFuture.completedFuture(fallback);
+        }
+        return future
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        timedOutQueries.add(name);
+                    } else {
+                        failedQueries.add(name);
+                    }
+                    return fallback;
+                });
+    }
+
+    List<String> getTimedOutQueries() {
+        return List.copyOf(timedOutQueries);
+    }
+
+    List<String> getFailedQueries() {
+        return List.copyOf(failedQueries);
+    }
+}
@@ -0,0 +1,147 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Serves dashboard results from a snapshot for ttl-ms, then stale for up to stale-ms more while a single
+// background load refreshes it. Past that, callers block on one shared load instead of each recomputing.
+// At most max-entries keys are kept, least recently used first out, and expired snapshots are swept.
+@Component
+public class DashboardSnapshotCache {
+    private final Map<String, Entry> entries;
+    private final Executor refreshExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry registry;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final boolean enabled;
+
+    public DashboardSnapshotCache(@Qualifier("dashboardRefreshExecutor") Executor refreshExecutor,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry registry,
+                                  @Value("${dashboard.cache.ttl-ms:30000}") long ttlMillis,
+                                  @Value("${dashboard.cache.stale-ms:120000}") long staleMillis,
+                                  @Value("${dashboard.cache.enabled:true}") boolean enabled,
+                                  @Value("${dashboard.cache.max-entries:64}") int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.refreshExecutor = refreshExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.registry = registry;
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        Snapshot snapshot = entry.snapshot;
+        if (snapshot != null) {
+            long age = System.currentTimeMillis() - snapshot.loadedAt();
+            if (age < ttlMillis) {
+                count(key, "hit");
+                return (T) snapshot.value();
+            }
+            if (age < ttlMillis + staleMillis) {
+                count(key, "stale");
+                if (entry.inFlight.get() == null) {
+                    try {
+                        refreshExecutor.execute(() -> load(key, entry, loader));
+                    } catch (RejectedExecutionException e) {
+                        // Refresh pool is saturated; keep serving the stale snapshot and retry on a later call.
+                    }
+                }
+                return (T) snapshot.value();
+            }
+        }
+        count(key, "miss");
+        try {
+            return (T) load(key, entry, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.cache.stale-ms:120000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMillis - staleMillis;
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.inFlight.get() == null
+                    && (entry.snapshot == null || entry.snapshot.loadedAt() < cutoff));
+        }
+    }
+
+    private CompletableFuture<Object> load(String key, Entry entry, Supplier<?> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = entry.inFlight.compareAndExchange(null, created);
+        if (existing != null) {
+            return existing;
+        }
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object value = readOnlyTransaction.execute(status -> loader.get());
+            entry.snapshot = new Snapshot(value, System.currentTimeMillis());
+            created.complete(value);
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        } finally {
+            entry.inFlight.set(null);
+            sample.stop(Timer.builder("dashboard.cache.refresh").tag("key", metricKey(key)).register(registry));
+        }
+        return created;
+    }
+
+    private void count(String key, String result) {
+        Counter.builder("dashboard.cache.requests")
+                .tag("key", metricKey(key))
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    // Keys such as monthly-revenue:2025 share one meter per endpoint.
+    private String metricKey(String key) {
+        int separator = key.indexOf(':');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+
+    private static final class Entry {
+        private final AtomicReference<CompletableFuture<Object>> inFlight = new AtomicReference<>();
+        private volatile Snapshot snapshot;
+    }
+
+    private record Snapshot(Object value, long loadedAt) {}
+}
@@ -0,0 +1,255 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import swp391.com.backend.feature.account.event.AccountStatusChangedEvent;
+import swp391.com.backend.feature.appointment.event.AppointmentStatusChangedEvent;
+import swp391.com.backend.feature.dashboard.dto.NotificationDeltaDTO;
+import swp391.com.backend.feature.dashboard.dto.SystemNotificationDTO;
+import swp391.com.backend.feature.examination.event.ExaminationStatusChangedEvent;
+import swp391.com.backend.feature.notification.service.NotificationReadStateService;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamService {
+    private static final String SNAPSHOT_EVENT = "notification-snapshot";
+    private static final String DELTA_EVENT = "notification-delta";
+
+    private final AdminDashboardService adminDashboardService;
+    private final NotificationReadStateService notificationReadStateService;
+    @Qualifier("dashboardExecutor")
+    private final Executor dashboardExecutor;
+
+    @Value("${dashboard.notifications.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${dashboard.notifications.stream.replay-size:256}")
+    private int replaySize;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private volatile boolean stale = true;
+    private final Object refreshLock = new Object();
+
+    // Guarded by this: the last broadcast state and the deltas kept for Last-Event-ID replay.
+    private final Deque<DeltaEvent> history = new ArrayDeque<>();
+    private Map<String, SystemNotificationDTO> current;
+    private long sequence;
+
+    public SseEmitter subscribe(Long adminId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(adminId, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        if (stale) {
+            refresh();
+        }
+        Map<String, Long> readVersions = notificationReadStateService.getReadVersions(adminId);
+        Long lastSeen = parseEventId(lastEventId);
+
+        // The replay or snapshot and the registration happen under one lock, so no delta can slip in between.
+        synchronized (this) {
+            boolean replayable = lastSeen != null && lastSeen <= sequence
+                    && (history.isEmpty() ? lastSeen == sequence : history.peekFirst().id() <= lastSeen + 1);
+            try {
+                if (replayable) {
+                    for (DeltaEvent event : history) {
+                        if (event.id() > lastSeen) {
+                            send(subscriber, event);
+                        }
+                    }
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(sequence))
+                            .name(SNAPSHOT_EVENT)
+                            .data(withReadState(current.values(), readVersions)));
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExaminationStatusChanged(ExaminationStatusChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountStatusChanged(AccountStatusChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    @Scheduled(fixedRateString = "${dashboard.notifications.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    // Catches changes that do not come from a status transition, such as new bookings or the date rolling over.
+    @Scheduled(fixedRateString = "${dashboard.notifications.stream.reconcile-ms:300000}")
+    public void reconcile() {
+        if (!subscribers.isEmpty()) {
+            scheduleRefresh();
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (subscribers.isEmpty()) {
+            stale = true;
+            return;
+        }
+        if (!refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dashboardExecutor.execute(() -> {
+                refreshPending.set(false);
+                refresh();
+            });
+        } catch (RejectedExecutionException e) {
+            refreshPending.set(false);
+            stale = true;
+            log.warn("Notification refresh rejected; retrying on the next change or reconcile", e);
+        }
+    }
+
+    // Queries and sends run outside the monitor that subscribe needs; refreshLock keeps deltas in sequence order.
+    private void refresh() {
+        synchronized (refreshLock) {
+            stale = false;
+            Map<String, SystemNotificationDTO> latest = toMap(adminDashboardService.buildSystemNotifications());
+            DeltaEvent event;
+            List<Subscriber> targets;
+            synchronized (this) {
+                event = swap(latest);
+                if (event == null) {
+                    return;
+                }
+                targets = List.copyOf(subscribers);
+            }
+
+            for (Subscriber subscriber : targets) {
+                try {
+                    send(subscriber, event);
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscriber, e);
+                }
+            }
+        }
+    }
+
+    private DeltaEvent swap(Map<String, SystemNotificationDTO> latest) {
+        Map<String, SystemNotificationDTO> previous = current != null ? current : Map.of();
+
+        // Ids are stable per notification type, so a changed count is sent again under the same id in added.
+        List<SystemNotificationDTO> added = new ArrayList<>();
+        for (SystemNotificationDTO notification : latest.values()) {
+            if (!notification.equals(previous.get(notification.getId()))) {
+                added.add(notification);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String id : previous.keySet()) {
+            if (!latest.containsKey(id)) {
+                removed.add(id);
+            }
+        }
+
+        current = latest;
+        if (added.isEmpty() && removed.isEmpty()) {
+            return null;
+        }
+
+        DeltaEvent event = new DeltaEvent(++sequence, added, removed);
+        history.addLast(event);
+        while (history.size() > replaySize) {
+            history.removeFirst();
+        }
+        return event;
+    }
+
+    private void send(Subscriber subscriber, DeltaEvent event) throws IOException {
+        Map<String, Long> readVersions = notificationReadStateService.getReadVersions(subscriber.adminId());
+        subscriber.emitter().send(SseEmitter.event()
+                .id(String.valueOf(event.id()))
+                .name(DELTA_EVENT)
+                .data(new NotificationDeltaDTO(withReadState(event.added(), readVersions), event.removed())));
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        subscribers.remove(subscriber);
+        subscriber.emitter().completeWithError(cause);
+    }
+
+    private List<SystemNotificationDTO> withReadState(Iterable<SystemNotificationDTO> notifications, Map<String, Long> readVersions) {
+        List<SystemNotificationDTO> result = new ArrayList<>();
+        for (SystemNotificationDTO notification : notifications) {
+            result.add(SystemNotificationDTO.builder()
+                    .id(notification.getId())
+                    .version(notification.getVersion())
+                    .message(notification.getMessage())
+                    .type(notification.getType())
+                    .priority(notification.getPriority())
+                    .isRead(NotificationReadStateService.isRead(readVersions, notification.getId(), notification.getVersion()))
+                    .build());
+        }
+        return result;
+    }
+
+    private Map<String, SystemNotificationDTO> toMap(List<SystemNotificationDTO> notifications) {
+        Map<String, SystemNotificationDTO> byId = new LinkedHashMap<>();
+        notifications.forEach(notification -> byId.put(notification.getId(), notification));
+        return byId;
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Subscriber(Long adminId, SseEmitter emitter) {}
+
+    private record DeltaEvent(long id, List<SystemNotificationDTO> added, List<String> removed) {}
+}
@@ -0,0 +1,51 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import swp391.com.backend.common.exception.BusinessException;
+import swp391.com.backend.feature.dashboard.dto.StreamTicketDTO;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// EventSource cannot send headers, so the stream authenticates with a short-lived ticket
+// issued to the admin resolved from the request headers.
+@Service
+public class NotificationStreamTicketService {
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    @Value("${dashboard.notifications.stream.ticket-ttl-ms:300000}")
+    private long ticketTtlMs;
+
+    private record Ticket(Long adminId, long expiresAt) {}
+
+    public StreamTicketDTO issue(Long adminId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(adminId, System.currentTimeMillis() + ticketTtlMs));
+        return new StreamTicketDTO(ticket, ticketTtlMs);
+    }
+
+    public Long resolve(String ticket) {
+        Ticket entry = tickets.get(ticket);
+        if (entry == null || entry.expiresAt() < System.currentTimeMillis()) {
+            if (entry != null) {
+                tickets.remove(ticket, entry);
+            }
+            throw new BusinessException("Notification stream ticket is invalid or expired", "Unauthorized", HttpStatus.UNAUTHORIZED);
+        }
+        return entry.adminId();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.notifications.stream.ticket-ttl-ms:300000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(entry -> entry.expiresAt() < now);
+    }
+}
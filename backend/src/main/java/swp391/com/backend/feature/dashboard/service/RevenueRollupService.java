@@ -0,0 +1,169 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import swp391.com.backend.feature.appointment.data.Appointment;
+import swp391.com.backend.feature.appointment.data.AppointmentRepository;
+import swp391.com.backend.feature.appointment.data.AppointmentStatus;
+import swp391.com.backend.feature.appointment.event.AppointmentDeletedEvent;
+import swp391.com.backend.feature.appointment.event.AppointmentStatusChangedEvent;
+import swp391.com.backend.feature.dashboard.data.DailyRevenueRollup;
+import swp391.com.backend.feature.dashboard.data.DailyRevenueRollupRepository;
+import swp391.com.backend.feature.dashboard.data.DailyRevenueRow;
+import swp391.com.backend.feature.dashboard.data.RevenueSource;
+import swp391.com.backend.feature.examination.data.Examination;
+import swp391.com.backend.feature.examination.data.ExaminationRepository;
+import swp391.com.backend.feature.examination.data.ExaminationStatus;
+import swp391.com.backend.feature.doctor.event.DoctorPriceChangedEvent;
+import swp391.com.backend.feature.examination.event.ExaminationDeletedEvent;
+import swp391.com.backend.feature.examination.event.ExaminationStatusChangedEvent;
+import swp391.com.backend.feature.panel.event.PanelPriceChangedEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class RevenueRollupService {
+    private final DailyRevenueRollupRepository rollupRepository;
+    private final ExaminationRepository examinationRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    public Map<LocalDate, Double> getRevenueByDate(LocalDate from, LocalDate to) {
+        Map<LocalDate, Double> revenueByDate = new HashMap<>();
+        for (DailyRevenueRollup row : rollupRepository.findByDateBetween(from, to)) {
+            revenueByDate.merge(row.getDate(), row.getRevenue().doubleValue(), Double::sum);
+        }
+        return revenueByDate;
+    }
+
+    public double getTotalRevenue() {
+        return rollupRepository.sumRevenue().doubleValue();
+    }
+
+    // Listeners run once the business change has committed, in their own transaction, so a rollup failure
+    // cannot fail a status update that is already persisted. Each one locks the affected (date, source) rows
+    // and recomputes them from the source tables, so listeners and price edits can run in any order.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onExaminationStatusChanged(ExaminationStatusChangedEvent event) {
+        Examination examination = event.examination();
+        if (isRevenue(event.previousStatus()) != isRevenue(examination.getExaminationStatus())) {
+            recompute(RevenueSource.EXAMINATION, dateOf(examination.getDate()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onExaminationDeleted(ExaminationDeletedEvent event) {
+        if (isRevenue(event.examination().getExaminationStatus())) {
+            recompute(RevenueSource.EXAMINATION, dateOf(event.examination().getDate()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+        Appointment appointment = event.appointment();
+        boolean wasRevenue = event.previousStatus() == AppointmentStatus.FINISHED;
+        boolean isRevenue = appointment.getAppointmentStatus() == AppointmentStatus.FINISHED;
+        if (wasRevenue != isRevenue) {
+            recompute(RevenueSource.APPOINTMENT, dateOf(appointment.getDate()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAppointmentDeleted(AppointmentDeletedEvent event) {
+        if (event.appointment().getAppointmentStatus() == AppointmentStatus.FINISHED) {
+            recompute(RevenueSource.APPOINTMENT, dateOf(event.appointment().getDate()));
+        }
+    }
+
+    // Revenue is valued at the current price, so a price edit recomputes only the days the doctor or panel earned on.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onDoctorPriceChanged(DoctorPriceChangedEvent event) {
+        recompute(RevenueSource.APPOINTMENT, appointmentRepository.findRevenueDatesByDoctorId(event.doctor().getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPanelPriceChanged(PanelPriceChangedEvent event) {
+        recompute(RevenueSource.EXAMINATION, examinationRepository.findRevenueDatesByPanelId(event.panel().getId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        rebuildRollup();
+    }
+
+    // Locks every existing row (and, through the scan, the gaps new rows would go into) before reading the source tables.
+    @Transactional
+    public void rebuildRollup() {
+        Map<RevenueSource, Map<LocalDate, DailyRevenueRow>> sums = new EnumMap<>(RevenueSource.class);
+        List<DailyRevenueRollup> rows = rollupRepository.findAllForUpdate();
+        sums.put(RevenueSource.EXAMINATION, byDate(examinationRepository.sumRevenueByDate()));
+        sums.put(RevenueSource.APPOINTMENT, byDate(appointmentRepository.sumRevenueByDate()));
+
+        for (DailyRevenueRollup row : rows) {
+            apply(row, sums.get(row.getSource()).remove(row.getDate()));
+        }
+        List<DailyRevenueRollup> added = new ArrayList<>();
+        sums.forEach((source, remaining) -> remaining.values().forEach(sum -> added.add(toRollup(sum, source))));
+        rollupRepository.saveAll(added);
+    }
+
+    private void recompute(RevenueSource source, Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        List<LocalDate> sorted = dates.stream().distinct().sorted().toList();
+        sorted.forEach(date -> rollupRepository.insertIfAbsent(date, source.name()));
+        List<DailyRevenueRollup> rows = rollupRepository.findForUpdate(source, sorted);
+        Map<LocalDate, DailyRevenueRow> sums = byDate(source == RevenueSource.EXAMINATION
+                ? examinationRepository.sumRevenueByDate(sorted)
+                : appointmentRepository.sumRevenueByDate(sorted));
+        rows.forEach(row -> apply(row, sums.get(row.getDate())));
+    }
+
+    private void apply(DailyRevenueRollup row, DailyRevenueRow sum) {
+        row.setRevenue(sum != null ? sum.revenue() : BigDecimal.ZERO);
+        row.setItemCount(sum != null ? sum.itemCount() : 0L);
+    }
+
+    private Map<LocalDate, DailyRevenueRow> byDate(List<DailyRevenueRow> rows) {
+        Map<LocalDate, DailyRevenueRow> byDate = new HashMap<>();
+        rows.forEach(row -> byDate.put(row.date(), row));
+        return byDate;
+    }
+
+    private List<LocalDate> dateOf(LocalDate date) {
+        return date != null ? List.of(date) : List.of();
+    }
+
+    private boolean isRevenue(ExaminationStatus status) {
+        return status == ExaminationStatus.COMPLETED || status == ExaminationStatus.EXAMINED;
+    }
+
+    private DailyRevenueRollup toRollup(DailyRevenueRow row, RevenueSource source) {
+        return DailyRevenueRollup.builder()
+                .date(row.date())
+                .source(source)
+                .revenue(row.revenue())
+                .itemCount(row.itemCount())
+                .build();
+    }
+}
@@ -1,7 +1,27 @@
 package swp391.com.backend.feature.doctor.data;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
-}
+    @Query("SELECT d FROM Doctor d LEFT JOIN FETCH d.account ORDER BY d.id")
+    List<Doctor> findAllWithAccount();
 
+    @Query(value = "SELECT d FROM Doctor d LEFT JOIN FETCH d.account",
+           countQuery = "SELECT COUNT(d) FROM Doctor d")
+    Page<Doctor> findAllWithAccount(Pageable pageable);
+
+    @Query("SELECT d FROM Doctor d WHERE " +
+           "(:specialization IS NULL OR LOWER(d.specialization) LIKE LOWER(CONCAT('%', :specialization, '%'))) " +
+           "AND (:minPrice IS NULL OR d.price >= :minPrice) " +
+           "AND (:maxPrice IS NULL OR d.price <= :maxPrice)")
+    List<Doctor> search(@Param("specialization") String specialization,
+                        @Param("minPrice") BigDecimal minPrice,
+                        @Param("maxPrice") BigDecimal maxPrice);
+}
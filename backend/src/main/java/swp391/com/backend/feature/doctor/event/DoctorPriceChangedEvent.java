@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.doctor.event;
+
+import swp391.com.backend.feature.doctor.data.Doctor;
+
+import java.math.BigDecimal;
+
+public record DoctorPriceChangedEvent(Doctor doctor, BigDecimal previousPrice) {}
@@ -2,9 +2,12 @@ package swp391.com.backend.feature.doctor.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.doctor.data.Doctor;
 import swp391.com.backend.feature.doctor.data.DoctorRepository;
+import swp391.com.backend.feature.doctor.event.DoctorPriceChangedEvent;
 import swp391.com.backend.feature.account.data.Account;
 import swp391.com.backend.feature.account.data.AccountRepository;
 
@@ -16,6 +19,7 @@ import java.util.List;
 public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Doctor> getAllDoctors() {
         return doctorRepository.findAll();
@@ -30,8 +34,11 @@ public class DoctorService {
         return doctorRepository.save(doctor);
     }
 
+    @Transactional
     public Doctor updateDoctor(Long id, Doctor doctorDetails) {
-        Doctor doctor = findDoctorById(id).toBuilder()
+        Doctor existingDoctor = findDoctorById(id);
+        BigDecimal previousPrice = existingDoctor.getPrice();
+        Doctor doctor = existingDoctor.toBuilder()
                 .name(doctorDetails.getName())
                 .specialization(doctorDetails.getSpecialization())
                 .degree(doctorDetails.getDegree())
@@ -39,15 +46,17 @@ public class DoctorService {
                 .price(doctorDetails.getPrice())
                 .experience(doctorDetails.getExperience())
                 .build();
-        return doctorRepository.save(doctor);
+        return publishIfPriceChanged(doctorRepository.save(doctor), previousPrice);
     }
 
+    @Transactional
     public Doctor createDoctorForAccount(Long accountId, String name, String specialization, BigDecimal price, int experience, String degree, String university) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
 
         if (doctorRepository.findById(accountId).isPresent()) {
             Doctor existingDoctor = doctorRepository.findById(accountId).get();
+            BigDecimal previousPrice = existingDoctor.getPrice();
             Doctor updatedDoctor = existingDoctor.toBuilder()
                     .name(name)
                     .specialization(specialization)
@@ -56,7 +65,7 @@ public class DoctorService {
                     .degree(degree)
                     .university(university)
                     .build();
-            return doctorRepository.save(updatedDoctor);
+            return publishIfPriceChanged(doctorRepository.save(updatedDoctor), previousPrice);
         }
         Doctor doctor = Doctor.builder()
                 .account(account)
@@ -73,5 +82,13 @@ public class DoctorService {
     public Doctor createOrUpdateDoctor(Doctor doctor) {
         return doctorRepository.save(doctor);
     }
-}
 
+    private Doctor publishIfPriceChanged(Doctor doctor, BigDecimal previousPrice) {
+        BigDecimal price = doctor.getPrice();
+        boolean samePrice = previousPrice == null ? price == null : price != null && previousPrice.compareTo(price) == 0;
+        if (!samePrice) {
+            eventPublisher.publishEvent(new DoctorPriceChangedEvent(doctor, previousPrice));
+        }
+        return doctor;
+    }
+}
@@ -11,7 +11,10 @@ import swp391.com.backend.feature.panel.data.Panel;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "examinations")
+@Table(name = "examinations", indexes = {
+        @Index(name = "idx_examinations_date", columnList = "date"),
+        @Index(name = "idx_examinations_status_date", columnList = "examination_status, date")
+})
 @Data
 @Builder
 @AllArgsConstructor
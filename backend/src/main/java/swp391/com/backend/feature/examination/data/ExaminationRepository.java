@@ -1,16 +1,19 @@
 package swp391.com.backend.feature.examination.data;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import swp391.com.backend.feature.dashboard.data.DailyRevenueRow;
 import swp391.com.backend.feature.schedule.data.Slot;
 import swp391.com.backend.feature.examination.data.Examination;
 import swp391.com.backend.feature.examination.data.ExaminationStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -44,5 +47,46 @@ public interface ExaminationRepository extends JpaRepository<Examination, Long>
     @Query("UPDATE Examination e SET e.customer = null WHERE e.customer.id = :customerId")
     void updateCustomerToNullByCustomerId(@Param("customerId") Long customerId);
 
-}
+    @Query("SELECT new swp391.com.backend.feature.dashboard.data.DailyRevenueRow(e.date, SUM(p.price), COUNT(e)) " +
+           "FROM Examination e JOIN e.panel p " +
+           "WHERE e.date IS NOT NULL AND p.price IS NOT NULL " +
+           "AND e.examinationStatus IN (swp391.com.backend.feature.examination.data.ExaminationStatus.COMPLETED, swp391.com.backend.feature.examination.data.ExaminationStatus.EXAMINED) " +
+           "GROUP BY e.date")
+    List<DailyRevenueRow> sumRevenueByDate();
+
+    @Query("SELECT new swp391.com.backend.feature.dashboard.data.DailyRevenueRow(e.date, SUM(p.price), COUNT(e)) " +
+           "FROM Examination e JOIN e.panel p " +
+           "WHERE e.date IN :dates AND p.price IS NOT NULL " +
+           "AND e.examinationStatus IN (swp391.com.backend.feature.examination.data.ExaminationStatus.COMPLETED, swp391.com.backend.feature.examination.data.ExaminationStatus.EXAMINED) " +
+           "GROUP BY e.date")
+    List<DailyRevenueRow> sumRevenueByDate(@Param("dates") Collection<LocalDate> dates);
+
+    @Query("SELECT DISTINCT e.date FROM Examination e " +
+           "WHERE e.panel.id = :panelId AND e.date IS NOT NULL " +
+           "AND e.examinationStatus IN (swp391.com.backend.feature.examination.data.ExaminationStatus.COMPLETED, swp391.com.backend.feature.examination.data.ExaminationStatus.EXAMINED)")
+    List<LocalDate> findRevenueDatesByPanelId(@Param("panelId") Long panelId);
+
+    @Query("SELECT e.examinationStatus AS status, COUNT(e) AS total, " +
+           "SUM(CASE WHEN e.date < :date THEN 1 ELSE 0 END) AS beforeDate " +
+           "FROM Examination e GROUP BY e.examinationStatus")
+    List<ExaminationStatusCount> countByStatus(@Param("date") LocalDate date);
+
+    @Query("SELECT e FROM Examination e " +
+           "LEFT JOIN FETCH e.staff " +
+           "LEFT JOIN FETCH e.customer " +
+           "LEFT JOIN FETCH e.panel " +
+           "WHERE e.date > :since AND (e.date < :beforeDate OR (e.date = :beforeDate AND e.id < :beforeId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    List<Examination> findActivityPage(@Param("since") LocalDate since,
+                                       @Param("beforeDate") LocalDate beforeDate,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
 
+    @Query("SELECT new swp391.com.backend.feature.examination.data.PanelUsageRow(p.id, p.panelName, COUNT(e), " +
+           "COALESCE(SUM(CASE WHEN e.examinationStatus IN (swp391.com.backend.feature.examination.data.ExaminationStatus.COMPLETED, swp391.com.backend.feature.examination.data.ExaminationStatus.EXAMINED) THEN p.price ELSE 0 END), 0)) " +
+           "FROM Examination e JOIN e.panel p " +
+           "WHERE (:from IS NULL OR e.date >= :from) AND (:to IS NULL OR e.date <= :to) " +
+           "GROUP BY p.id, p.panelName " +
+           "ORDER BY COUNT(e) DESC, p.id ASC")
+    List<PanelUsageRow> countByPanel(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.examination.data;
+
+public interface ExaminationStatusCount {
+    ExaminationStatus getStatus();
+    Long getTotal();
+    Long getBeforeDate();
+}
@@ -0,0 +1,5 @@
+package swp391.com.backend.feature.examination.data;
+
+import java.math.BigDecimal;
+
+public record PanelUsageRow(Long panelId, String panelName, Long count, BigDecimal revenue) {}
@@ -0,0 +1,5 @@
+package swp391.com.backend.feature.examination.event;
+
+import swp391.com.backend.feature.examination.data.Examination;
+
+public record ExaminationDeletedEvent(Examination examination) {}
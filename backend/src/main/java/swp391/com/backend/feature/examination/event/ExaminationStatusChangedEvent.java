@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.examination.event;
+
+import swp391.com.backend.feature.examination.data.Examination;
+import swp391.com.backend.feature.examination.data.ExaminationStatus;
+
+public record ExaminationStatusChangedEvent(Examination examination, ExaminationStatus previousStatus) {}
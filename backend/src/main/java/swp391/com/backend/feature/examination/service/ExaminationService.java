@@ -2,10 +2,13 @@ package swp391.com.backend.feature.examination.service;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.examination.data.Examination;
 import swp391.com.backend.feature.examination.data.ExaminationStatus;
+import swp391.com.backend.feature.examination.event.ExaminationDeletedEvent;
+import swp391.com.backend.feature.examination.event.ExaminationStatusChangedEvent;
 import swp391.com.backend.feature.examination.exception.ExaminationConflictException;
 import swp391.com.backend.feature.result.data.Result;
 import swp391.com.backend.feature.resultDetail.data.ResultDetail;
@@ -28,6 +31,7 @@ public class ExaminationService {
     private final ExaminationRepository examinationRepository;
     private final ResultService resultService;
     private final ScheduleService scheduleService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Examination> getAllExaminations() {
         return examinationRepository.findAllWithRelations();
@@ -39,9 +43,11 @@ public class ExaminationService {
     }
 
 
+    @Transactional
     public void deleteOrder(Long id){
         Examination examination = examinationRepository.findById(id).orElseThrow(() -> new RuntimeException("Examination not found"));
         examinationRepository.delete(examination);
+        eventPublisher.publishEvent(new ExaminationDeletedEvent(examination));
     }    public Examination findExaminationById(Long id) {
         Examination examination = examinationRepository.findExaminationByIdWithRelations(id);
         if (examination == null) {
@@ -58,6 +64,7 @@ public class ExaminationService {
         return resultService.findTestTypesByExaminationId(id);
     }
 
+    @Transactional
     public Examination updateExaminationStatus(Long id, ExaminationStatus status) {
         Examination existingExamination = examinationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Examination not found with id: " + id));
@@ -71,9 +78,13 @@ public class ExaminationService {
             }
         }
 
+        ExaminationStatus previousStatus = existingExamination.getExaminationStatus();
         existingExamination.setExaminationStatus(status);
 
         Examination updatedExamination = examinationRepository.save(existingExamination);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(new ExaminationStatusChangedEvent(updatedExamination, previousStatus));
+        }
         return updatedExamination;
     }
 
@@ -86,6 +97,7 @@ public class ExaminationService {
                 .filter(examination -> examination.getExaminationStatus() != ExaminationStatus.PENDING)
                 .toList();
     }
+    @Transactional
     public Examination updateExaminationStatusWithStaff(Long id, ExaminationStatus status, Long staffId) {
         Examination existingExamination = examinationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Examination not found with id: " + id));
@@ -106,9 +118,13 @@ public class ExaminationService {
             }
         }
 
+        ExaminationStatus previousStatus = existingExamination.getExaminationStatus();
         existingExamination.setExaminationStatus(status);
 
         Examination updatedExamination = examinationRepository.save(existingExamination);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(new ExaminationStatusChangedEvent(updatedExamination, previousStatus));
+        }
         return updatedExamination;
     }
 
@@ -0,0 +1,34 @@
+package swp391.com.backend.feature.notification.data;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_read_state",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_read_state_admin_notification", columnNames = {"admin_id", "notification_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadState {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "admin_id", nullable = false)
+    private Long adminId;
+
+    @Column(name = "notification_id", nullable = false, length = 100)
+    private String notificationId;
+
+    @Column(name = "read_version", nullable = false)
+    private Long readVersion;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,11 @@
+package swp391.com.backend.feature.notification.data;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationReadStateRepository extends JpaRepository<NotificationReadState, Long> {
+    List<NotificationReadState> findByAdminId(Long adminId);
+}
@@ -0,0 +1,95 @@
+package swp391.com.backend.feature.notification.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import swp391.com.backend.feature.notification.data.NotificationReadState;
+import swp391.com.backend.feature.notification.data.NotificationReadStateRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Notification ids are stable per type; the version (e.g. the pending count) that was read decides whether it is still read.
+@Service
+@RequiredArgsConstructor
+public class NotificationReadStateService {
+    private static final String UPSERT_READ_STATE =
+            "INSERT INTO notification_read_state (admin_id, notification_id, read_version, read_at) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE read_version = VALUES(read_version), read_at = VALUES(read_at)";
+    private static final String DELETE_READ_STATE = "DELETE FROM notification_read_state";
+
+    private final NotificationReadStateRepository notificationReadStateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, CachedReadState> cache = new ConcurrentHashMap<>();
+
+    @Value("${notification.read-state.cache-ttl-ms:60000}")
+    private long cacheTtlMillis;
+
+    public Map<String, Long> getReadVersions(Long adminId) {
+        long now = System.currentTimeMillis();
+        return cache.compute(adminId, (id, cached) ->
+                cached != null && now - cached.loadedAt() < cacheTtlMillis ? cached : load(id, now)
+        ).readVersions();
+    }
+
+    public static boolean isRead(Map<String, Long> readVersions, String notificationId, long version) {
+        return Objects.equals(readVersions.get(notificationId), version);
+    }
+
+    public void markAsRead(Long adminId, String notificationId, long version) {
+        markAllAsRead(adminId, Map.of(notificationId, version));
+    }
+
+    public void markAllAsRead(Long adminId, Map<String, Long> currentVersions) {
+        Map<String, Long> readVersions = getReadVersions(adminId);
+        List<Map.Entry<String, Long>> unread = currentVersions.entrySet().stream()
+                .filter(entry -> !isRead(readVersions, entry.getKey(), entry.getValue()))
+                .toList();
+        if (unread.isEmpty()) {
+            return;
+        }
+
+        Timestamp readAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_READ_STATE, unread, unread.size(), (ps, entry) -> {
+            ps.setLong(1, adminId);
+            ps.setString(2, entry.getKey());
+            ps.setLong(3, entry.getValue());
+            ps.setTimestamp(4, readAt);
+        });
+        unread.forEach(entry -> readVersions.put(entry.getKey(), entry.getValue()));
+    }
+
+    // Drops read state for notifications that are gone or have moved to a new version.
+    public void prune(Map<String, Long> currentVersions) {
+        if (currentVersions.isEmpty()) {
+            jdbcTemplate.update(DELETE_READ_STATE);
+        } else {
+            String placeholders = String.join(", ", Collections.nCopies(currentVersions.size(), "(?, ?)"));
+            List<Object> args = new ArrayList<>();
+            currentVersions.forEach((id, version) -> {
+                args.add(id);
+                args.add(version);
+            });
+            jdbcTemplate.update(DELETE_READ_STATE + " WHERE (notification_id, read_version) NOT IN (" + placeholders + ")",
+                    args.toArray());
+        }
+        cache.clear();
+    }
+
+    private CachedReadState load(Long adminId, long loadedAt) {
+        Map<String, Long> readVersions = new ConcurrentHashMap<>();
+        for (NotificationReadState state : notificationReadStateRepository.findByAdminId(adminId)) {
+            readVersions.put(state.getNotificationId(), state.getReadVersion());
+        }
+        return new CachedReadState(readVersions, loadedAt);
+    }
+
+    private record CachedReadState(Map<String, Long> readVersions, long loadedAt) {}
+}
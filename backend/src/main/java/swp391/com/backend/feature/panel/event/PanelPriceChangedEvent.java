@@ -0,0 +1,7 @@
+package swp391.com.backend.feature.panel.event;
+
+import swp391.com.backend.feature.panel.data.Panel;
+
+import java.math.BigDecimal;
+
+public record PanelPriceChangedEvent(Panel panel, BigDecimal previousPrice) {}
@@ -1,21 +1,27 @@
 package swp391.com.backend.feature.panel.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import swp391.com.backend.feature.examination.data.ExaminationRepository;
+import swp391.com.backend.feature.examination.data.PanelUsageRow;
 import swp391.com.backend.feature.panel.data.Panel;
 import swp391.com.backend.feature.panel.data.PanelRepository;
 import swp391.com.backend.feature.panel.data.PanelTag;
 import swp391.com.backend.feature.panel.data.PanelType;
 import swp391.com.backend.feature.panel.dto.PanelStatisticsDTO;
+import swp391.com.backend.feature.panel.event.PanelPriceChangedEvent;
 import swp391.com.backend.feature.panel.exception.PanelNotFoundException;
 import swp391.com.backend.feature.panelTestType.data.PanelTestType;
 import swp391.com.backend.feature.panelTestType.data.PanelTestTypeRepository;
 import swp391.com.backend.feature.testType.data.TestType;
 import swp391.com.backend.feature.testType.data.TestTypeRepository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -24,6 +30,8 @@ public class PanelService {
     private final PanelRepository panelRepository;
     private final TestTypeRepository testTypeRepository;
     private final PanelTestTypeRepository panelTestTypeRepository;
+    private final ExaminationRepository examinationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Panel createPackage(Panel aPanel) {
         return panelRepository.save(aPanel);
@@ -72,6 +80,7 @@ public class PanelService {
     @Transactional
     public Panel updatePanel(Long id, Panel updatedPanel, List<Long> testTypeIds) {
         Panel existingPanel = findPanelById(id);
+        BigDecimal previousPrice = existingPanel.getPrice();
 
         existingPanel.setPanelName(updatedPanel.getPanelName());
         existingPanel.setDescription(updatedPanel.getDescription());
@@ -82,6 +91,9 @@ public class PanelService {
         existingPanel.setPanelTag(updatedPanel.getPanelTag());
         
         Panel savedPanel = panelRepository.save(existingPanel);
+        if (!samePrice(previousPrice, savedPanel.getPrice())) {
+            eventPublisher.publishEvent(new PanelPriceChangedEvent(savedPanel, previousPrice));
+        }
 
         if (testTypeIds != null) {
 
@@ -122,9 +134,15 @@ public class PanelService {
         statistics.setActivePanels(totalPanels); // Assuming all panels are active for now
         statistics.setInactivePanels(0L);
         statistics.setAveragePrice(averagePrice != null ? averagePrice : 0.0);
-        statistics.setMostPopularPanel("N/A"); // Would need examination data to determine
+        statistics.setMostPopularPanel(examinationRepository.countByPanel(null, null, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(PanelUsageRow::panelName)
+                .orElse("N/A"));
         
         return statistics;
     }
-}
 
+    private static boolean samePrice(BigDecimal previous, BigDecimal current) {
+        return previous == null ? current == null : current != null && previous.compareTo(current) == 0;
+    }
+}
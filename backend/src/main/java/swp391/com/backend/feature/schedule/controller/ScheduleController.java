@@ -1,12 +1,14 @@
 package swp391.com.backend.feature.schedule.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import swp391.com.backend.feature.schedule.dto.*;
 import swp391.com.backend.feature.schedule.service.ScheduleService;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -14,6 +16,8 @@ import java.util.List;
 @RequestMapping("/api/schedules")
 @RequiredArgsConstructor
 public class ScheduleController {
+    private static final int DEFAULT_WINDOW_DAYS = 28;
+
     private final ScheduleService scheduleService;
 
     @GetMapping("/{doctorId}/{date}")
@@ -24,15 +28,45 @@ public class ScheduleController {
         return ResponseEntity.ok(availableSlots);
     }
 
+    @GetMapping("/earliest-available")
+    public ResponseEntity<List<AvailableSlotResponse>> findEarliestAvailable(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(13);
+        return ResponseEntity.ok(scheduleService.findEarliestAvailable(specialization, minPrice, maxPrice, start, end, limit));
+    }
+
+    // Without page/size every doctor is returned; with them the total doctor count is sent in X-Total-Count.
     @GetMapping("/admin/all")
-    public ResponseEntity<List<DoctorScheduleResponse>> getAllDoctorSchedules() {
-        List<DoctorScheduleResponse> schedules = scheduleService.getAllDoctorSchedules();
-        return ResponseEntity.ok(schedules);
+    public ResponseEntity<List<DoctorScheduleResponse>> getAllDoctorSchedules(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_WINDOW_DAYS - 1);
+        if (page == null) {
+            return ResponseEntity.ok(scheduleService.getAllDoctorSchedules(start, end));
+        }
+        Page<DoctorScheduleResponse> schedules = scheduleService.getDoctorSchedulesPage(start, end, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(schedules.getTotalElements()))
+                .body(schedules.getContent());
     }
 
     @GetMapping("/admin/doctor/{doctorId}")
-    public ResponseEntity<DoctorScheduleResponse> getDoctorSchedules(@PathVariable Long doctorId) {
-        DoctorScheduleResponse schedules = scheduleService.getDoctorSchedules(doctorId);
+    public ResponseEntity<DoctorScheduleResponse> getDoctorSchedules(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_WINDOW_DAYS - 1);
+        DoctorScheduleResponse schedules = scheduleService.getDoctorSchedules(doctorId, start, end);
         return ResponseEntity.ok(schedules);
     }
 
@@ -42,6 +76,12 @@ public class ScheduleController {
         return ResponseEntity.ok(createdSchedules);
     }
 
+    @PostMapping("/admin/recurring")
+    public ResponseEntity<RecurringScheduleResponse> createRecurringSchedules(@RequestBody RecurringScheduleRequest request) {
+        RecurringScheduleResponse result = scheduleService.createRecurringSchedules(request);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/admin/{scheduleId}")
     public ResponseEntity<ScheduleResponse> updateSchedule(@PathVariable Long scheduleId, @RequestBody UpdateScheduleRequest request) {
         ScheduleResponse updatedSchedule = scheduleService.updateSchedule(scheduleId, request);
@@ -8,7 +8,9 @@ import swp391.com.backend.feature.doctor.data.Doctor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+    @Index(name = "idx_schedules_doctor_date", columnList = "doctor_id, date, slot")
+})
 @Data
 @NoArgsConstructor
 public class Schedule {
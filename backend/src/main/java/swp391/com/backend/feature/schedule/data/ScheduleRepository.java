@@ -10,6 +10,7 @@ import swp391.com.backend.feature.doctor.data.Doctor;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,6 +24,25 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     List<Schedule> findByDoctorIdAndDate(Long doctorId, LocalDate date);
     
     boolean existsByDoctorAndDateAndSlot(Doctor doctor, LocalDate date, Slot slot);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.doctor " +
+           "WHERE s.doctor.id IN :doctorIds AND s.date BETWEEN :from AND :to ORDER BY s.date, s.slot")
+    List<Schedule> findByDoctorIdsAndDateBetween(@Param("doctorIds") Collection<Long> doctorIds,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to);
+
+    @Query("SELECT new swp391.com.backend.feature.schedule.data.SlotKey(s.doctor.id, s.date, s.slot) " +
+           "FROM Schedule s WHERE s.doctor IS NOT NULL AND s.date >= :from")
+    List<SlotKey> findSlotKeysFrom(@Param("from") LocalDate from);
+
+    @Query("SELECT new swp391.com.backend.feature.schedule.data.SlotKey(s.doctor.id, s.date, s.slot) " +
+           "FROM Schedule s WHERE s.doctor.id = :doctorId AND s.date BETWEEN :from AND :to")
+    List<SlotKey> findSlotKeysByDoctorIdAndDateBetween(@Param("doctorId") Long doctorId,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+
+    @Query("SELECT s.slot FROM Schedule s WHERE s.doctor.id = :doctorId AND s.date = :date")
+    List<Slot> findSlotsByDoctorIdAndDate(@Param("doctorId") Long doctorId, @Param("date") LocalDate date);
     
     @Modifying
     @Transactional
@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.schedule.data;
+
+import java.time.LocalDate;
+
+public record SlotKey(Long doctorId, LocalDate date, Slot slot) {
+}
@@ -0,0 +1,8 @@
+package swp391.com.backend.feature.schedule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record AvailableSlotResponse(Long doctorId, String doctorName, String specialization, BigDecimal price,
+                                    LocalDate date, String slot, int slotOrdinal, String timeRange) {
+}
@@ -0,0 +1,23 @@
+package swp391.com.backend.feature.schedule.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import swp391.com.backend.feature.schedule.data.Slot;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringScheduleRequest {
+    private Long doctorId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Set<DayOfWeek> daysOfWeek;
+    private List<Slot> slots;
+    private boolean skipConflicts;
+}
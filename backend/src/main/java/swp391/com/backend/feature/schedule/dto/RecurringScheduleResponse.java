@@ -0,0 +1,6 @@
+package swp391.com.backend.feature.schedule.dto;
+
+import java.time.LocalDate;
+
+public record RecurringScheduleResponse(Long doctorId, LocalDate startDate, LocalDate endDate, int created, int skipped) {
+}
@@ -0,0 +1,223 @@
+package swp391.com.backend.feature.schedule.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import swp391.com.backend.feature.appointment.data.AppointmentRepository;
+import swp391.com.backend.feature.schedule.data.ScheduleRepository;
+import swp391.com.backend.feature.schedule.data.Slot;
+import swp391.com.backend.feature.schedule.data.SlotKey;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Per (doctor, date) availability packed into a short: the low byte holds the scheduled slots and the high byte
+ * the slots taken by an active appointment, one bit per usable {@link Slot} (ONE is bit 0). Dates from
+ * {@code coverageStart} onwards are served from memory and kept current write-through; older dates fall back to
+ * the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorAvailabilityIndex {
+    private static final Slot[] SLOTS = Slot.values();
+
+    private final ScheduleRepository scheduleRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    private volatile Map<Long, ConcurrentSkipListMap<LocalDate, Short>> days = new ConcurrentHashMap<>();
+    private volatile LocalDate coverageStart;
+
+    // Write-through updates are applied under writeLock; while a rebuild is reading, they are also logged here
+    // and replayed onto the rebuilt map before it is swapped in, so none are lost to the swap.
+    private final Object writeLock = new Object();
+    private List<PendingWrite> pendingWrites;
+
+    public static int bit(Slot slot) {
+        return slot == Slot.ZERO ? 0 : 1 << (slot.ordinal() - 1);
+    }
+
+    public static List<Slot> slots(int mask) {
+        List<Slot> slots = new ArrayList<>(Integer.bitCount(mask));
+        for (int remaining = mask & 0xFF; remaining != 0; remaining &= remaining - 1) {
+            slots.add(SLOTS[Integer.numberOfTrailingZeros(remaining) + 1]);
+        }
+        return slots;
+    }
+
+    public int availableMask(Long doctorId, LocalDate date) {
+        if (!covers(date)) {
+            return maskOf(scheduleRepository.findSlotsByDoctorIdAndDate(doctorId, date))
+                    & ~maskOf(appointmentRepository.findActiveSlotsByDoctorIdAndDate(doctorId, date));
+        }
+        ConcurrentSkipListMap<LocalDate, Short> doctorDays = days.get(doctorId);
+        Short packed = doctorDays != null ? doctorDays.get(date) : null;
+        return packed != null ? available(packed) : 0;
+    }
+
+    public List<Slot> availableSlots(Long doctorId, LocalDate date) {
+        return slots(availableMask(doctorId, date));
+    }
+
+    // Available masks for one doctor over [from, to], only for dates that have a free slot.
+    public NavigableMap<LocalDate, Integer> availableMasks(Long doctorId, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, Integer> result = new TreeMap<>();
+        if (!covers(from)) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                int mask = availableMask(doctorId, date);
+                if (mask != 0) {
+                    result.put(date, mask);
+                }
+            }
+            return result;
+        }
+        ConcurrentSkipListMap<LocalDate, Short> doctorDays = days.get(doctorId);
+        if (doctorDays != null) {
+            doctorDays.subMap(from, true, to, true).forEach((date, packed) -> {
+                int mask = available(packed);
+                if (mask != 0) {
+                    result.put(date, mask);
+                }
+            });
+        }
+        return result;
+    }
+
+    public void addSchedule(Long doctorId, LocalDate date, Slot slot) {
+        afterCommit(() -> apply(doctorId, date, value -> value | bit(slot)));
+    }
+
+    public void addSchedules(Collection<SlotKey> keys) {
+        afterCommit(() -> keys.forEach(key -> apply(key.doctorId(), key.date(), value -> value | bit(key.slot()))));
+    }
+
+    public void removeSchedule(Long doctorId, LocalDate date, Slot slot) {
+        afterCommit(() -> apply(doctorId, date, value -> value & ~bit(slot)));
+    }
+
+    public void clearSchedules(Long doctorId, LocalDate date) {
+        afterCommit(() -> apply(doctorId, date, value -> value & ~0xFF));
+    }
+
+    // Booked bits are re-read for the day, since a status or reschedule change can free as well as take a slot.
+    public void refreshBooked(Long doctorId, LocalDate date) {
+        if (doctorId == null || date == null) {
+            return;
+        }
+        afterCommit(() -> {
+            if (covers(date)) {
+                int booked = maskOf(appointmentRepository.findActiveSlotsByDoctorIdAndDate(doctorId, date));
+                apply(doctorId, date, value -> (value & 0xFF) | booked << 8);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    // Drops past dates and reconciles any drift from writes that bypassed the services.
+    @Scheduled(fixedDelayString = "${schedule.availability.reconcile-ms:900000}",
+               initialDelayString = "${schedule.availability.reconcile-ms:900000}")
+    public synchronized void rebuild() {
+        synchronized (writeLock) {
+            pendingWrites = new ArrayList<>();
+        }
+        try {
+            LocalDate from = LocalDate.now();
+            Map<Long, ConcurrentSkipListMap<LocalDate, Short>> rebuilt = new ConcurrentHashMap<>();
+            for (SlotKey key : scheduleRepository.findSlotKeysFrom(from)) {
+                merge(rebuilt, key, bit(key.slot()));
+            }
+            for (SlotKey key : appointmentRepository.findActiveSlotKeysFrom(from)) {
+                merge(rebuilt, key, bit(key.slot()) << 8);
+            }
+            synchronized (writeLock) {
+                for (PendingWrite write : pendingWrites) {
+                    if (!write.date().isBefore(from)) {
+                        applyTo(rebuilt, write.doctorId(), write.date(), write.change());
+                    }
+                }
+                days = rebuilt;
+                coverageStart = from;
+            }
+        } finally {
+            synchronized (writeLock) {
+                pendingWrites = null;
+            }
+        }
+    }
+
+    private boolean covers(LocalDate date) {
+        LocalDate start = coverageStart;
+        return start != null && !date.isBefore(start);
+    }
+
+    private void apply(Long doctorId, LocalDate date, IntUnaryOperator change) {
+        if (doctorId == null || date == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (pendingWrites != null) {
+                pendingWrites.add(new PendingWrite(doctorId, date, change));
+            }
+            if (covers(date)) {
+                applyTo(days, doctorId, date, change);
+            }
+        }
+    }
+
+    private static void applyTo(Map<Long, ConcurrentSkipListMap<LocalDate, Short>> target, Long doctorId, LocalDate date,
+                                IntUnaryOperator change) {
+        target.computeIfAbsent(doctorId, id -> new ConcurrentSkipListMap<>()).compute(date, (d, packed) -> {
+            int result = change.applyAsInt(packed != null ? packed & 0xFFFF : 0);
+            return result == 0 ? null : (short) result;
+        });
+    }
+
+    private static void merge(Map<Long, ConcurrentSkipListMap<LocalDate, Short>> target, SlotKey key, int bits) {
+        target.computeIfAbsent(key.doctorId(), id -> new ConcurrentSkipListMap<>())
+                .merge(key.date(), (short) bits, (a, b) -> (short) (a | b));
+    }
+
+    private static int available(short packed) {
+        int value = packed & 0xFFFF;
+        return value & ~(value >>> 8) & 0xFF;
+    }
+
+    private static int maskOf(Collection<Slot> slots) {
+        int mask = 0;
+        for (Slot slot : slots) {
+            mask |= bit(slot);
+        }
+        return mask;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private record PendingWrite(Long doctorId, LocalDate date, IntUnaryOperator change) {}
+}
@@ -1,6 +1,12 @@
 package swp391.com.backend.feature.schedule.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import swp391.com.backend.feature.appointment.data.AppointmentRepository;
@@ -9,47 +15,126 @@ import swp391.com.backend.feature.doctor.data.DoctorRepository;
 import swp391.com.backend.feature.schedule.data.Schedule;
 import swp391.com.backend.feature.schedule.data.ScheduleRepository;
 import swp391.com.backend.feature.schedule.data.Slot;
+import swp391.com.backend.feature.schedule.data.SlotKey;
 import swp391.com.backend.feature.schedule.dto.*;
 import swp391.com.backend.feature.schedule.mapper.ScheduleMapper;
 
+import java.math.BigDecimal;
+import java.sql.Date;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ScheduleService {
+    private static final int MAX_SEARCH_DAYS = 62;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_WINDOW_DAYS = 366;
+    private static final int MAX_DOCTOR_PAGE_SIZE = 100;
+
+    private static final String INSERT_SCHEDULE_SQL = "INSERT INTO schedules (date, slot, doctor_id) VALUES (?, ?, ?)";
+
     private final ScheduleRepository scheduleRepository;
     private final AppointmentRepository appointmentRepository;
     private final DoctorRepository doctorRepository;
     private final ScheduleMapper scheduleMapper;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final JdbcTemplate jdbcTemplate;
 
     public List<Slot> findAvailableSlots(Long doctorId, LocalDate date) {
-        Doctor doctor = doctorRepository.findById(doctorId).get();
-        List<Slot> bookedSlots = appointmentRepository.findAppointmentByDoctorAndDate(doctor, date).stream()
-                .map(appointment -> appointment.getSlot())
-                .toList();
-        List<Slot> scheduledSlots = scheduleRepository.findByDoctorAndDate(doctor, date).stream()
-                .map(schedule -> schedule.getSlot())
-                .filter(slot -> !bookedSlots.contains(slot))
-                .toList();
+        return availabilityIndex.availableSlots(doctorId, date);
+    }
+
+    // Earliest free (doctor, date, slot) tuples in the window, ordered by date, slot and then doctor.
+    public List<AvailableSlotResponse> findEarliestAvailable(String specialization, BigDecimal minPrice, BigDecimal maxPrice,
+                                                             LocalDate requestedFrom, LocalDate to, int limit) {
+        // Past days can never be bookable, and dates before the index coverage would fall back to per-day queries.
+        LocalDate today = LocalDate.now();
+        LocalDate from = requestedFrom.isBefore(today) ? today : requestedFrom;
+        if (to.isBefore(requestedFrom)) {
+            throw new IllegalArgumentException("Search end date must not be before start date");
+        }
+        if (to.isBefore(from)) {
+            return List.of();
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SEARCH_DAYS) {
+            throw new IllegalArgumentException("Search window must not exceed " + MAX_SEARCH_DAYS + " days");
+        }
+        int resultSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        String specializationFilter = specialization == null || specialization.isBlank() ? null : specialization.trim();
 
-        return scheduledSlots;
+        List<Doctor> doctors = doctorRepository.search(specializationFilter, minPrice, maxPrice);
+        Map<Long, NavigableMap<LocalDate, Integer>> freeByDoctor = new HashMap<>();
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        for (Doctor doctor : doctors) {
+            NavigableMap<LocalDate, Integer> free = availabilityIndex.availableMasks(doctor.getId(), from, to);
+            if (!free.isEmpty()) {
+                freeByDoctor.put(doctor.getId(), free);
+                dates.addAll(free.keySet());
+            }
+        }
+
+        List<AvailableSlotResponse> results = new ArrayList<>(resultSize);
+        for (LocalDate date : dates) {
+            for (Slot slot : Slot.values()) {
+                int bit = DoctorAvailabilityIndex.bit(slot);
+                if (bit == 0) {
+                    continue;
+                }
+                for (Doctor doctor : doctors) {
+                    NavigableMap<LocalDate, Integer> free = freeByDoctor.get(doctor.getId());
+                    Integer mask = free != null ? free.get(date) : null;
+                    if (mask != null && (mask & bit) != 0) {
+                        results.add(new AvailableSlotResponse(doctor.getId(), doctor.getName(), doctor.getSpecialization(),
+                                doctor.getPrice(), date, slot.name(), slot.ordinal(), slot.getTimeRange()));
+                        if (results.size() == resultSize) {
+                            return results;
+                        }
+                    }
+                }
+            }
+        }
+        return results;
     }
 
-    public List<DoctorScheduleResponse> getAllDoctorSchedules() {
-        List<Doctor> doctors = doctorRepository.findAll();
-        return doctors.stream()
-                .map(this::buildDoctorScheduleResponse)
-                .collect(Collectors.toList());
+    public List<DoctorScheduleResponse> getAllDoctorSchedules(LocalDate from, LocalDate to) {
+        validateWindow(from, to);
+        return buildDoctorScheduleResponses(doctorRepository.findAllWithAccount(), from, to);
+    }
+
+    public Page<DoctorScheduleResponse> getDoctorSchedulesPage(LocalDate from, LocalDate to, int page, int size) {
+        validateWindow(from, to);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_DOCTOR_PAGE_SIZE)), Sort.by("id"));
+        Page<Doctor> doctors = doctorRepository.findAllWithAccount(pageable);
+        return new PageImpl<>(buildDoctorScheduleResponses(doctors.getContent(), from, to), pageable, doctors.getTotalElements());
     }
 
-    public DoctorScheduleResponse getDoctorSchedules(Long doctorId) {
+    public DoctorScheduleResponse getDoctorSchedules(Long doctorId, LocalDate from, LocalDate to) {
+        validateWindow(from, to);
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
-        return buildDoctorScheduleResponse(doctor);
+        return buildDoctorScheduleResponses(List.of(doctor), from, to).get(0);
+    }
+
+    private void validateWindow(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Schedule window end must not be before its start");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Schedule window must not exceed " + MAX_WINDOW_DAYS + " days");
+        }
     }
 
     @Transactional
@@ -72,13 +157,64 @@ public class ScheduleService {
             schedule.setSlot(slot);
             
             createdSchedules.add(scheduleRepository.save(schedule));
+            availabilityIndex.addSchedule(doctor.getId(), request.getDate(), slot);
         }
 
+        Set<SlotKey> appointmentSlots = loadAppointmentSlots(List.of(doctor.getId()), request.getDate(), request.getDate());
         return createdSchedules.stream()
-                .map(this::mapToScheduleResponse)
+                .map(schedule -> mapToScheduleResponse(schedule, appointmentSlots))
                 .collect(Collectors.toList());
     }
 
+    // Expands a weekly pattern into concrete rows: one conflict query for the whole range, then batched inserts.
+    @Transactional
+    public RecurringScheduleResponse createRecurringSchedules(RecurringScheduleRequest request) {
+        Doctor doctor = doctorRepository.findById(request.getDoctorId())
+                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + request.getDoctorId()));
+        LocalDate from = request.getStartDate();
+        LocalDate to = request.getEndDate();
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("A valid start and end date are required");
+        }
+        validateWindow(from, to);
+        if (request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()) {
+            throw new IllegalArgumentException("At least one day of week is required");
+        }
+        EnumSet<Slot> slots = request.getSlots() == null ? EnumSet.noneOf(Slot.class) : EnumSet.copyOf(request.getSlots());
+        slots.remove(Slot.ZERO);
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("At least one slot is required");
+        }
+
+        Set<SlotKey> existing = new HashSet<>(scheduleRepository.findSlotKeysByDoctorIdAndDateBetween(doctor.getId(), from, to));
+        List<SlotKey> toCreate = new ArrayList<>();
+        List<SlotKey> conflicts = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!request.getDaysOfWeek().contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (Slot slot : slots) {
+                SlotKey key = new SlotKey(doctor.getId(), date, slot);
+                (existing.contains(key) ? conflicts : toCreate).add(key);
+            }
+        }
+
+        if (!conflicts.isEmpty() && !request.isSkipConflicts()) {
+            SlotKey first = conflicts.get(0);
+            throw new RuntimeException("Schedule already exists for doctor " + doctor.getName() +
+                " on " + first.date() + " at slot " + first.slot().name() + " (" + conflicts.size() + " conflicts in total)");
+        }
+
+        List<Object[]> rows = new ArrayList<>(toCreate.size());
+        for (SlotKey key : toCreate) {
+            rows.add(new Object[]{Date.valueOf(key.date()), key.slot().ordinal(), key.doctorId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SCHEDULE_SQL, rows);
+        availabilityIndex.addSchedules(toCreate);
+
+        return new RecurringScheduleResponse(doctor.getId(), from, to, toCreate.size(), conflicts.size());
+    }
+
     @Transactional
     public ScheduleResponse updateSchedule(Long scheduleId, UpdateScheduleRequest request) {
         Schedule schedule = scheduleRepository.findById(scheduleId)
@@ -97,10 +233,13 @@ public class ScheduleService {
             }
         }
 
+        Long doctorId = schedule.getDoctor() != null ? schedule.getDoctor().getId() : null;
+        availabilityIndex.removeSchedule(doctorId, schedule.getDate(), schedule.getSlot());
         schedule.setDate(request.getDate());
         schedule.setSlot(request.getSlot());
         
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+        availabilityIndex.addSchedule(doctorId, updatedSchedule.getDate(), updatedSchedule.getSlot());
         return mapToScheduleResponse(updatedSchedule);
     }
 
@@ -118,6 +257,9 @@ public class ScheduleService {
         }
 
         scheduleRepository.deleteById(scheduleId);
+        if (schedule.getDoctor() != null) {
+            availabilityIndex.removeSchedule(schedule.getDoctor().getId(), schedule.getDate(), schedule.getSlot());
+        }
     }
 
     @Transactional
@@ -136,6 +278,7 @@ public class ScheduleService {
         }
 
         scheduleRepository.deleteByDoctorIdAndDate(doctorId, date);
+        availabilityIndex.clearSchedules(doctorId, date);
     }
 
     public List<SlotOptionResponse> getSlotOptions() {
@@ -145,29 +288,46 @@ public class ScheduleService {
                 .collect(Collectors.toList());
     }
 
-    private DoctorScheduleResponse buildDoctorScheduleResponse(Doctor doctor) {
-        List<Schedule> schedules = scheduleRepository.findByDoctor(doctor);
-        List<ScheduleResponse> scheduleResponses = schedules.stream()
-                .map(this::mapToScheduleResponse)
+    // Three queries regardless of how many doctors or schedules: doctors (by the caller), schedules, appointments.
+    private List<DoctorScheduleResponse> buildDoctorScheduleResponses(List<Doctor> doctors, LocalDate from, LocalDate to) {
+        if (doctors.isEmpty()) {
+            return List.of();
+        }
+        List<Long> doctorIds = doctors.stream().map(Doctor::getId).toList();
+        List<Schedule> schedules = scheduleRepository.findByDoctorIdsAndDateBetween(doctorIds, from, to);
+        Set<SlotKey> appointmentSlots = schedules.isEmpty() ? Set.of() : loadAppointmentSlots(doctorIds, from, to);
+
+        Map<Long, List<ScheduleResponse>> responsesByDoctor = new HashMap<>();
+        for (Schedule schedule : schedules) {
+            responsesByDoctor.computeIfAbsent(schedule.getDoctor().getId(), id -> new ArrayList<>())
+                    .add(mapToScheduleResponse(schedule, appointmentSlots));
+        }
+
+        return doctors.stream()
+                .map(doctor -> new DoctorScheduleResponse(
+                        doctor.getId(),
+                        doctor.getName(),
+                        doctor.getSpecialization(),
+                        responsesByDoctor.getOrDefault(doctor.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
+    }
 
-        return new DoctorScheduleResponse(
-                doctor.getId(),
-                doctor.getName(),
-                doctor.getSpecialization(),
-                scheduleResponses
-        );
+    private Set<SlotKey> loadAppointmentSlots(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        return new HashSet<>(appointmentRepository.findSlotKeysByDoctorIdsAndDateBetween(doctorIds, from, to));
     }
 
     private ScheduleResponse mapToScheduleResponse(Schedule schedule) {
-        ScheduleResponse response = scheduleMapper.toScheduleResponse(schedule);
+        if (schedule.getDoctor() == null) {
+            return mapToScheduleResponse(schedule, Set.of());
+        }
+        return mapToScheduleResponse(schedule,
+                loadAppointmentSlots(List.of(schedule.getDoctor().getId()), schedule.getDate(), schedule.getDate()));
+    }
 
-        boolean hasAppointment = appointmentRepository.findAppointmentByDoctorAndDate(schedule.getDoctor(), schedule.getDate())
-                .stream()
-                .anyMatch(appointment -> appointment.getSlot().equals(schedule.getSlot()));
-        
-        response.setHasAppointment(hasAppointment);
+    private ScheduleResponse mapToScheduleResponse(Schedule schedule, Set<SlotKey> appointmentSlots) {
+        ScheduleResponse response = scheduleMapper.toScheduleResponse(schedule);
+        response.setHasAppointment(schedule.getDoctor() != null && appointmentSlots.contains(
+                new SlotKey(schedule.getDoctor().getId(), schedule.getDate(), schedule.getSlot())));
         return response;
     }
 }
-
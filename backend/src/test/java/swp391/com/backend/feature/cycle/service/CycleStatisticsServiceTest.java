@@ -0,0 +1,126 @@
+package swp391.com.backend.feature.cycle.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import swp391.com.backend.feature.cycle.data.Cycle;
+import swp391.com.backend.feature.cycle.data.CycleRepository;
+import swp391.com.backend.feature.cycle.data.CycleStatistics;
+import swp391.com.backend.feature.cycle.data.CycleStatisticsRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CycleStatisticsServiceTest {
+    private static final Long CUSTOMER = 3L;
+    private static final double RECENCY_WEIGHT = 0.3;
+
+    private CycleStatisticsRepository cycleStatisticsRepository;
+    private CycleRepository cycleRepository;
+    private CycleStatisticsService service;
+    private CycleStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cycleStatisticsRepository = mock(CycleStatisticsRepository.class);
+        cycleRepository = mock(CycleRepository.class);
+        service = new CycleStatisticsService(cycleStatisticsRepository, cycleRepository);
+        ReflectionTestUtils.setField(service, "recencyWeight", RECENCY_WEIGHT);
+        statistics = CycleStatistics.builder().customerId(CUSTOMER).build();
+        when(cycleStatisticsRepository.findForUpdate(CUSTOMER)).thenReturn(Optional.of(statistics));
+    }
+
+    @Test
+    void rebuildMatchesTwoPassMeanAndVariance() {
+        int[] lengths = {28, 31, 26, 35, 29, 27};
+        List<Cycle> cycles = new ArrayList<>();
+        for (int i = 0; i < lengths.length; i++) {
+            cycles.add(cycle(LocalDate.of(2025, 1, 1).plusDays(40L * i), lengths[i], 5));
+        }
+        when(cycleRepository.findCurrentByCustomerId(CUSTOMER)).thenReturn(cycles);
+
+        service.rebuild(CUSTOMER);
+
+        double mean = 0;
+        for (int length : lengths) {
+            mean += length;
+        }
+        mean /= lengths.length;
+        double squares = 0;
+        for (int length : lengths) {
+            squares += (length - mean) * (length - mean);
+        }
+        assertThat(statistics.getLengthCount()).isEqualTo(lengths.length);
+        assertThat(statistics.getLengthMean()).isCloseTo(mean, within(1e-9));
+        assertThat(statistics.getLengthM2()).isCloseTo(squares, within(1e-9));
+        assertThat(service.toModel(statistics).cycleLengthStdDev())
+                .isCloseTo(Math.sqrt(squares / (lengths.length - 1)), within(1e-9));
+        assertThat(statistics.getLastCycleStart()).isEqualTo(cycles.get(cycles.size() - 1).getCycleStartDate());
+        verify(cycleStatisticsRepository).save(statistics);
+    }
+
+    @Test
+    void ewmaStartsAtTheFirstSampleAndWeighsRecentOnes() {
+        when(cycleRepository.findCurrentByCustomerId(CUSTOMER)).thenReturn(List.of(
+                cycle(LocalDate.of(2025, 1, 1), 28, 5),
+                cycle(LocalDate.of(2025, 1, 29), 32, 7)));
+
+        service.rebuild(CUSTOMER);
+
+        assertThat(statistics.getLengthEwma()).isCloseTo(RECENCY_WEIGHT * 32 + (1 - RECENCY_WEIGHT) * 28, within(1e-9));
+        assertThat(statistics.getDurationEwma()).isCloseTo(RECENCY_WEIGHT * 7 + (1 - RECENCY_WEIGHT) * 5, within(1e-9));
+    }
+
+    @Test
+    void recordCycleExtendsTheRunningStatistics() {
+        when(cycleRepository.findCurrentByCustomerId(CUSTOMER)).thenReturn(List.of(
+                cycle(LocalDate.of(2025, 1, 1), 28, 5),
+                cycle(LocalDate.of(2025, 1, 29), 30, 5)));
+        service.rebuild(CUSTOMER);
+
+        service.recordCycle(CUSTOMER, cycle(LocalDate.of(2025, 2, 28), 32, 6));
+
+        assertThat(statistics.getLengthCount()).isEqualTo(3);
+        assertThat(statistics.getLengthMean()).isCloseTo(30, within(1e-9));
+        assertThat(statistics.getLengthM2()).isCloseTo(8, within(1e-9));
+        assertThat(statistics.getDurationCount()).isEqualTo(3);
+        assertThat(statistics.getLastCycleStart()).isEqualTo(LocalDate.of(2025, 2, 28));
+    }
+
+    @Test
+    void missingValuesAreSkippedPerSeries() {
+        when(cycleRepository.findCurrentByCustomerId(CUSTOMER)).thenReturn(List.of(
+                cycle(LocalDate.of(2025, 1, 1), 28, null),
+                cycle(LocalDate.of(2025, 1, 29), null, 6)));
+
+        service.rebuild(CUSTOMER);
+
+        assertThat(statistics.getLengthCount()).isEqualTo(1);
+        assertThat(statistics.getDurationCount()).isEqualTo(1);
+        CyclePredictionModel model = service.toModel(statistics);
+        assertThat(model.avgCycleLength()).isEqualTo(28);
+        assertThat(model.avgPeriodDuration()).isEqualTo(6);
+        assertThat(model.cycleLengthStdDev()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuildWithoutCyclesDropsTheRow() {
+        when(cycleRepository.findCurrentByCustomerId(CUSTOMER)).thenReturn(List.of());
+
+        service.rebuild(CUSTOMER);
+
+        verify(cycleStatisticsRepository).delete(statistics);
+    }
+
+    private static Cycle cycle(LocalDate start, Integer length, Integer duration) {
+        return Cycle.builder().cycleStartDate(start).cycleLength(length).periodDuration(duration).build();
+    }
+}
@@ -0,0 +1,47 @@
+package swp391.com.backend.feature.cycleSymptomByDate.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymptomMaskTest {
+
+    @Test
+    void bitFollowsTheOrdinal() {
+        assertThat(SymptomMask.bit(Symptom.HEADACHE)).isEqualTo(1);
+        assertThat(SymptomMask.bit(Symptom.CRAMPS)).isEqualTo(2);
+        assertThat(SymptomMask.bit(Symptom.OTHER)).isEqualTo(1 << Symptom.OTHER.ordinal());
+    }
+
+    @Test
+    void emptySetIsZero() {
+        assertThat(SymptomMask.of(EnumSet.noneOf(Symptom.class))).isZero();
+        assertThat(SymptomMask.toSet(0)).isEmpty();
+    }
+
+    @Test
+    void everySymptomRoundTrips() {
+        EnumSet<Symptom> all = EnumSet.allOf(Symptom.class);
+        int mask = SymptomMask.of(all);
+
+        assertThat(Integer.bitCount(mask)).isEqualTo(Symptom.values().length);
+        assertThat(SymptomMask.toSet(mask)).isEqualTo(all);
+    }
+
+    @Test
+    void subsetRoundTrips() {
+        EnumSet<Symptom> symptoms = EnumSet.of(Symptom.HEADACHE, Symptom.BLOATING, Symptom.OTHER);
+
+        assertThat(SymptomMask.toSet(SymptomMask.of(symptoms))).isEqualTo(symptoms);
+    }
+
+    // The batch and import paths merge masks with bitwise OR, as the upsert does in SQL.
+    @Test
+    void orMergesSets() {
+        int merged = SymptomMask.of(EnumSet.of(Symptom.CRAMPS)) | SymptomMask.of(EnumSet.of(Symptom.FATIGUE, Symptom.CRAMPS));
+
+        assertThat(SymptomMask.toSet(merged)).containsExactly(Symptom.CRAMPS, Symptom.FATIGUE);
+    }
+}
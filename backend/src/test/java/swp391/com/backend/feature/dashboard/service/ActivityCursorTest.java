@@ -0,0 +1,61 @@
+package swp391.com.backend.feature.dashboard.service;
+
+import org.junit.jupiter.api.Test;
+import swp391.com.backend.feature.dashboard.service.ActivityCursor.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityCursorTest {
+
+    @Test
+    void blankCursorStartsEverySource() {
+        ActivityCursor empty = new ActivityCursor(null, null, null);
+
+        assertThat(ActivityCursor.decode(null)).isEqualTo(empty);
+        assertThat(ActivityCursor.decode("  ")).isEqualTo(empty);
+    }
+
+    @Test
+    void roundTripsPositions() {
+        ActivityCursor cursor = new ActivityCursor(
+                new Position(LocalDateTime.of(2025, 6, 1, 9, 30), 42L),
+                null,
+                new Position(LocalDateTime.of(2025, 5, 31, 23, 59, 59, 123_000_000), 7L));
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(ActivityCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsWrongNumberOfParts() {
+        assertThatThrownBy(() -> ActivityCursor.decode(encode("2025-06-01T09:30,1|")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedPositions() {
+        assertThatThrownBy(() -> ActivityCursor.decode(encode("2025-06-01T09:30||")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActivityCursor.decode(encode("not-a-date,1||")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ActivityCursor.decode(encode("2025-06-01T09:30,x||")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsInvalidBase64() {
+        assertThatThrownBy(() -> ActivityCursor.decode("***"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
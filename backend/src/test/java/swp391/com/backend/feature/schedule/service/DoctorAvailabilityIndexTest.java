@@ -0,0 +1,162 @@
+package swp391.com.backend.feature.schedule.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import swp391.com.backend.feature.appointment.data.AppointmentRepository;
+import swp391.com.backend.feature.schedule.data.ScheduleRepository;
+import swp391.com.backend.feature.schedule.data.Slot;
+import swp391.com.backend.feature.schedule.data.SlotKey;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DoctorAvailabilityIndexTest {
+    private static final Long DOCTOR = 1L;
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate tomorrow = today.plusDays(1);
+
+    private ScheduleRepository scheduleRepository;
+    private AppointmentRepository appointmentRepository;
+    private DoctorAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        scheduleRepository = mock(ScheduleRepository.class);
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(scheduleRepository.findSlotKeysFrom(any())).thenReturn(List.of());
+        when(appointmentRepository.findActiveSlotKeysFrom(any())).thenReturn(List.of());
+        index = new DoctorAvailabilityIndex(scheduleRepository, appointmentRepository);
+    }
+
+    @Test
+    void bitSkipsTheFillerSlot() {
+        assertThat(DoctorAvailabilityIndex.bit(Slot.ZERO)).isZero();
+        assertThat(DoctorAvailabilityIndex.bit(Slot.ONE)).isEqualTo(0x01);
+        assertThat(DoctorAvailabilityIndex.bit(Slot.EIGHT)).isEqualTo(0x80);
+    }
+
+    @Test
+    void slotsDecodesOnlyTheLowByte() {
+        assertThat(DoctorAvailabilityIndex.slots(0x81)).containsExactly(Slot.ONE, Slot.EIGHT);
+        assertThat(DoctorAvailabilityIndex.slots(0xFF00)).isEmpty();
+        assertThat(DoctorAvailabilityIndex.slots(0)).isEmpty();
+    }
+
+    @Test
+    void bookedSlotsInTheHighByteAreNotAvailable() {
+        when(scheduleRepository.findSlotKeysFrom(today)).thenReturn(List.of(
+                new SlotKey(DOCTOR, tomorrow, Slot.ONE),
+                new SlotKey(DOCTOR, tomorrow, Slot.TWO),
+                new SlotKey(DOCTOR, tomorrow, Slot.EIGHT)));
+        when(appointmentRepository.findActiveSlotKeysFrom(today)).thenReturn(List.of(
+                new SlotKey(DOCTOR, tomorrow, Slot.TWO)));
+        index.rebuild();
+
+        assertThat(index.availableSlots(DOCTOR, tomorrow)).containsExactly(Slot.ONE, Slot.EIGHT);
+    }
+
+    // EIGHT booked sets bit 15, the sign bit of the packed short.
+    @Test
+    void bookingTheLastSlotSurvivesTheSignBit() {
+        when(scheduleRepository.findSlotKeysFrom(today)).thenReturn(List.of(
+                new SlotKey(DOCTOR, tomorrow, Slot.ONE),
+                new SlotKey(DOCTOR, tomorrow, Slot.EIGHT)));
+        when(appointmentRepository.findActiveSlotKeysFrom(today)).thenReturn(List.of(
+                new SlotKey(DOCTOR, tomorrow, Slot.EIGHT)));
+        index.rebuild();
+
+        assertThat(index.availableMask(DOCTOR, tomorrow)).isEqualTo(0x01);
+    }
+
+    @Test
+    void fillerSlotNeverBecomesAvailable() {
+        index.rebuild();
+        index.addSchedule(DOCTOR, tomorrow, Slot.ZERO);
+
+        assertThat(index.availableMask(DOCTOR, tomorrow)).isZero();
+        assertThat(index.availableMasks(DOCTOR, today, tomorrow.plusDays(7))).isEmpty();
+    }
+
+    @Test
+    void writeThroughUpdatesChangeAvailability() {
+        index.rebuild();
+        index.addSchedules(List.of(new SlotKey(DOCTOR, tomorrow, Slot.ONE), new SlotKey(DOCTOR, tomorrow, Slot.THREE)));
+        index.removeSchedule(DOCTOR, tomorrow, Slot.ONE);
+
+        assertThat(index.availableSlots(DOCTOR, tomorrow)).containsExactly(Slot.THREE);
+
+        index.clearSchedules(DOCTOR, tomorrow);
+        assertThat(index.availableMask(DOCTOR, tomorrow)).isZero();
+    }
+
+    @Test
+    void refreshBookedReplacesOnlyTheHighByte() {
+        index.rebuild();
+        index.addSchedule(DOCTOR, tomorrow, Slot.ONE);
+        index.addSchedule(DOCTOR, tomorrow, Slot.TWO);
+        when(appointmentRepository.findActiveSlotsByDoctorIdAndDate(DOCTOR, tomorrow)).thenReturn(List.of(Slot.ONE));
+        index.refreshBooked(DOCTOR, tomorrow);
+
+        assertThat(index.availableSlots(DOCTOR, tomorrow)).containsExactly(Slot.TWO);
+
+        when(appointmentRepository.findActiveSlotsByDoctorIdAndDate(DOCTOR, tomorrow)).thenReturn(List.of());
+        index.refreshBooked(DOCTOR, tomorrow);
+
+        assertThat(index.availableSlots(DOCTOR, tomorrow)).containsExactly(Slot.ONE, Slot.TWO);
+    }
+
+    @Test
+    void datesBeforeCoverageFallBackToTheDatabase() {
+        LocalDate yesterday = today.minusDays(1);
+        index.rebuild();
+        when(scheduleRepository.findSlotsByDoctorIdAndDate(DOCTOR, yesterday)).thenReturn(List.of(Slot.ONE, Slot.FOUR));
+        when(appointmentRepository.findActiveSlotsByDoctorIdAndDate(DOCTOR, yesterday)).thenReturn(List.of(Slot.FOUR));
+
+        assertThat(index.availableSlots(DOCTOR, yesterday)).containsExactly(Slot.ONE);
+    }
+
+    @Test
+    void uncoveredIndexDoesNotApplyWrites() {
+        index.addSchedule(DOCTOR, tomorrow, Slot.ONE);
+
+        verifyNoInteractions(scheduleRepository);
+        when(scheduleRepository.findSlotsByDoctorIdAndDate(DOCTOR, tomorrow)).thenReturn(List.of());
+        assertThat(index.availableMask(DOCTOR, tomorrow)).isZero();
+    }
+
+    // A write that commits while the rebuild is reading is missing from the rebuild's query results,
+    // so it has to be replayed onto the rebuilt map before the swap.
+    @Test
+    void writesDuringRebuildAreReplayed() {
+        index.rebuild();
+        index.addSchedule(DOCTOR, tomorrow, Slot.ONE);
+        when(scheduleRepository.findSlotKeysFrom(today)).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                index.addSchedule(DOCTOR, tomorrow, Slot.THREE);
+                index.removeSchedule(DOCTOR, tomorrow, Slot.ONE);
+                index.addSchedule(DOCTOR, today.minusDays(1), Slot.TWO);
+            }).join();
+            return List.of(new SlotKey(DOCTOR, tomorrow, Slot.ONE));
+        });
+        index.rebuild();
+
+        assertThat(index.availableSlots(DOCTOR, tomorrow)).containsExactly(Slot.THREE);
+    }
+
+    @Test
+    void writesAfterRebuildAreNotLogged() {
+        index.rebuild();
+        index.addSchedule(DOCTOR, tomorrow, Slot.ONE);
+        index.rebuild();
+
+        assertThat(index.availableMask(DOCTOR, tomorrow)).isZero();
+    }
+}
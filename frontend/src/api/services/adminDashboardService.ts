@@ -26,13 +26,21 @@ export const getAdminMonthlyRevenue = async (year: number) => {
     return response.data;
 };
 
-export const getAdminServiceDistribution = async () => {
-    const response = await api.get('/admin/dashboard/service-distribution');
+export const getAdminServiceDistribution = async (limit?: number, from?: string, to?: string) => {
+    const params = new URLSearchParams();
+    if (limit) params.append('limit', String(limit));
+    if (from) params.append('from', from);
+    if (to) params.append('to', to);
+    const response = await api.get(`/admin/dashboard/service-distribution?${params.toString()}`);
     return response.data;
 };
 
-export const getAllActivities = async () => {
-    const response = await api.get('/admin/dashboard/all-activities');
+export const getAllActivities = async (cursor?: string | null, size: number = 20) => {
+    const params = new URLSearchParams({ size: String(size) });
+    if (cursor) {
+        params.append('cursor', cursor);
+    }
+    const response = await api.get(`/admin/dashboard/all-activities?${params.toString()}`);
     return response.data;
 };
 
@@ -9,6 +9,9 @@ export interface CycleData {
     fertilityWindowStart: string;
     fertilityWindowEnd: string;
     cycleSymptomByDate?: CycleSymptom[];
+    startDateLow?: string;
+    startDateHigh?: string;
+    cycleLengthStdDev?: number;
 }
 
 export interface CycleSymptom {
@@ -17,6 +20,28 @@ export interface CycleSymptom {
     symptom: string;
 }
 
+// days[i] describes firstDay + i: low bits are the CALENDAR_* flags, bits from
+// CALENDAR_SYMPTOM_SHIFT up are one bit per symptom in backend enum order.
+export interface CycleCalendar {
+    firstDay: string;
+    days: number[];
+}
+
+export const CALENDAR_PERIOD = 1;
+export const CALENDAR_FERTILE = 1 << 1;
+export const CALENDAR_OVULATION = 1 << 2;
+export const CALENDAR_PREDICTED = 1 << 3;
+export const CALENDAR_SYMPTOM_SHIFT = 4;
+
+export interface CycleImportResult {
+    totalRows: number;
+    imported: number;
+    duplicates: number;
+    rejected: number;
+    symptoms: number;
+    errors: { row: number; message: string }[];
+}
+
 export interface CycleCreationRequest {
     startDate: string;
     cycleLength: number;
@@ -52,9 +77,25 @@ export const cycleService = {
         return response.data;
     },
 
+    async projectCycles(year: number, month: number, months: number = 12): Promise<CycleData[]> {
+        const response = await api.get(`/cycles/projection?year=${year}&month=${month}&months=${months}`);
+        return response.data;
+    },
+
+    async importCycles(file: File): Promise<CycleImportResult> {
+        const contentType = file.name.toLowerCase().endsWith('.json') ? 'application/json' : 'text/csv';
+        const response = await api.post('/cycles/import', file, { headers: { 'Content-Type': contentType } });
+        return response.data;
+    },
+
+    async getCalendar(year: number, month: number): Promise<CycleCalendar> {
+        const response = await api.get(`/cycles/calendar?year=${year}&month=${month}`);
+        return response.data;
+    },
+
     async predictCycleForMonth(year: number, month: number): Promise<CycleData | null> {
         try {
-            const response = await api.get(`/cycles/predict/${year}/${month}?customerId=3`);
+            const response = await api.get(`/cycles/predict/${year}/${month}`);
             return response.data;
         } catch (error) {
             console.error('Error predicting cycle for month:', error);
@@ -13,7 +13,23 @@ export interface CycleSymptomResponse {
     symptom: string;
 }
 
+export interface SymptomDayEntry {
+    date: string; // yyyy-MM-dd
+    symptoms: string[]; // backend Symptom names; an empty list clears the day
+}
+
+export interface SymptomBatchResult {
+    changedDays: number;
+    added: number;
+    removed: number;
+}
+
 export const cycleSymptomService = {
+    async saveSymptomDays(days: SymptomDayEntry[]): Promise<SymptomBatchResult> {
+        const response = await api.put('/cycle-symptoms/batch', { days });
+        return response.data;
+    },
+
     async saveSymptom(data: CycleSymptomRequest): Promise<CycleSymptomResponse> {
 
         const symptomMapping: { [key: string]: string } = {
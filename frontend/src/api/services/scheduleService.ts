@@ -34,25 +34,67 @@ export interface CreateScheduleRequest {
     slots: string[];
 }
 
+export interface RecurringScheduleRequest {
+    doctorId: number;
+    startDate: string;
+    endDate: string;
+    daysOfWeek: string[];
+    slots: string[];
+    skipConflicts?: boolean;
+}
+
+export interface RecurringScheduleResult {
+    doctorId: number;
+    startDate: string;
+    endDate: string;
+    created: number;
+    skipped: number;
+}
+
 export interface UpdateScheduleRequest {
     date: string;
     slot: string;
 }
 
+export interface AvailableSlot {
+    doctorId: number;
+    doctorName: string;
+    specialization: string;
+    price: number;
+    date: string;
+    slot: string;
+    slotOrdinal: number;
+    timeRange: string;
+}
+
+export interface EarliestAvailableQuery {
+    specialization?: string;
+    minPrice?: number;
+    maxPrice?: number;
+    from?: string;
+    to?: string;
+    limit?: number;
+}
+
 export const scheduleService = {
 
-    getAllDoctorSchedules: () => {
-        return api.get<DoctorSchedule[]>('/schedules/admin/all');
+    // from/to default to the next four weeks on the server; pass page/size to page doctors (total in X-Total-Count).
+    getAllDoctorSchedules: (params?: { from?: string; to?: string; page?: number; size?: number }) => {
+        return api.get<DoctorSchedule[]>('/schedules/admin/all', { params });
     },
 
-    getDoctorSchedules: (doctorId: number) => {
-        return api.get<DoctorSchedule>(`/schedules/admin/doctor/${doctorId}`);
+    getDoctorSchedules: (doctorId: number, from?: string, to?: string) => {
+        return api.get<DoctorSchedule>(`/schedules/admin/doctor/${doctorId}`, { params: { from, to } });
     },
 
     createSchedules: (request: CreateScheduleRequest) => {
         return api.post<Schedule[]>('/schedules/admin/create', request);
     },
 
+    createRecurringSchedules: (request: RecurringScheduleRequest) => {
+        return api.post<RecurringScheduleResult>('/schedules/admin/recurring', request);
+    },
+
     updateSchedule: (scheduleId: number, request: UpdateScheduleRequest) => {
         return api.put<Schedule>(`/schedules/admin/${scheduleId}`, request);
     },
@@ -71,6 +113,10 @@ export const scheduleService = {
 
     getAvailableSlots: (doctorId: number, date: string) => {
         return api.get<Slot[]>(`/schedules/${doctorId}/${date}`);
+    },
+
+    findEarliestAvailable: (query: EarliestAvailableQuery) => {
+        return api.get<AvailableSlot[]>('/schedules/earliest-available', { params: query });
     }
 };
 
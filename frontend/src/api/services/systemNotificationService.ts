@@ -1,4 +1,5 @@
 import { api } from '..';
+import { NotificationDeltaDTO, SystemNotificationDTO } from '../../types/dashboard';
 
 export const getSystemNotifications = async () => {
     const response = await api.get('/admin/dashboard/notifications');
@@ -10,3 +11,55 @@ export const markNotificationAsRead = async (id: string) => {
     return response.data;
 };
 
+
+export interface NotificationSubscription {
+    close: () => void;
+}
+
+const STREAM_RETRY_MS = 5000;
+
+export const subscribeToSystemNotifications = (
+    onSnapshot: (notifications: SystemNotificationDTO[]) => void,
+    onDelta: (delta: NotificationDeltaDTO) => void
+): NotificationSubscription => {
+    let source: EventSource | null = null;
+    let retry: ReturnType<typeof setTimeout> | undefined;
+    let closed = false;
+
+    const connect = async () => {
+        try {
+            const response = await api.post<{ ticket: string }>('/admin/dashboard/notifications/stream-ticket');
+            if (closed) {
+                return;
+            }
+            const params = new URLSearchParams({ ticket: response.data.ticket });
+            source = new EventSource(`${api.defaults.baseURL}/admin/dashboard/notifications/stream?${params.toString()}`);
+            source.addEventListener('notification-snapshot', (event) => {
+                onSnapshot(JSON.parse((event as MessageEvent).data));
+            });
+            source.addEventListener('notification-delta', (event) => {
+                onDelta(JSON.parse((event as MessageEvent).data));
+            });
+            source.onerror = () => {
+                // The browser retries on its own unless the ticket was rejected; then fetch a new one.
+                if (source?.readyState === EventSource.CLOSED && !closed) {
+                    retry = setTimeout(connect, STREAM_RETRY_MS);
+                }
+            };
+        } catch (error) {
+            console.warn('Failed to open notification stream:', error);
+            if (!closed) {
+                retry = setTimeout(connect, STREAM_RETRY_MS);
+            }
+        }
+    };
+    connect();
+
+    return {
+        close: () => {
+            closed = true;
+            clearTimeout(retry);
+            source?.close();
+        }
+    };
+};
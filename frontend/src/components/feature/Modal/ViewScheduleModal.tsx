@@ -61,16 +61,17 @@ const ViewScheduleModal: React.FC<ViewScheduleModalProps> = ({
 
     const refreshDoctorData = async () => {
         try {
-            const response = await scheduleService.getAllDoctorSchedules();
-            const updatedDoctor = response.data.find((d: DoctorSchedule) => d.doctorId === currentDoctor.doctorId);
-            if (updatedDoctor) {
-                setCurrentDoctor(updatedDoctor);
-            }
+            const response = await scheduleService.getDoctorSchedules(currentDoctor.doctorId, startDate, endDate);
+            setCurrentDoctor(response.data);
         } catch (error) {
             console.error('Error refreshing doctor data:', error);
         }
     };
 
+    useEffect(() => {
+        refreshDoctorData();
+    }, [startDate, endDate]);
+
     const handleDeleteSchedule = async (scheduleId: number) => {
         setIsLoading(true);
         try {
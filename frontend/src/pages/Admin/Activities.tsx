@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { RecentActivityDTO } from '../../types/dashboard';
+import { ActivityPageDTO, RecentActivityDTO } from '../../types/dashboard';
 import { getAllActivities } from '../../api/services/adminDashboardService';
 
 const Activities: React.FC = () => {
@@ -11,14 +11,31 @@ const Activities: React.FC = () => {
     const [error, setError] = useState<string | null>(null);
     const [filter, setFilter] = useState<string>('all');
     const [searchTerm, setSearchTerm] = useState<string>('');
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [loadingMore, setLoadingMore] = useState<boolean>(false);
+
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        try {
+            setLoadingMore(true);
+            const page: ActivityPageDTO = await getAllActivities(nextCursor);
+            setActivities(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            console.error('Error fetching more activities:', err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
 
     useEffect(() => {
         const fetchActivities = async () => {
             try {
                 setLoading(true);
-                const allActivities = await getAllActivities();
-                setActivities(allActivities);
-                setFilteredActivities(allActivities);
+                const page: ActivityPageDTO = await getAllActivities();
+                setActivities(page.items);
+                setFilteredActivities(page.items);
+                setNextCursor(page.nextCursor);
             } catch (err) {
                 setError('Failed to fetch activities');
                 console.error('Error fetching activities:', err);
@@ -230,6 +247,18 @@ const Activities: React.FC = () => {
                             ))}
                         </div>
                     )}
+
+                    {nextCursor && (
+                        <div className="text-center mt-6">
+                            <button
+                                onClick={loadMore}
+                                disabled={loadingMore}
+                                className="px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 transition-colors disabled:opacity-50"
+                            >
+                                {loadingMore ? 'Loading...' : 'Load More'}
+                            </button>
+                        </div>
+                    )}
                 </div>
             </div>
         </div>
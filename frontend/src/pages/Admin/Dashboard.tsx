@@ -26,7 +26,7 @@ import {
     YAxis
 } from 'recharts';
 import { getAdminDashboardData, getAdminMonthlyRevenue, getAdminServiceDistribution, getRecentActivities } from '../../api/services';
-import { getSystemNotifications, markNotificationAsRead } from '../../api/services/systemNotificationService';
+import { getSystemNotifications, markNotificationAsRead, subscribeToSystemNotifications } from '../../api/services/systemNotificationService';
 import { RecentActivityDTO, SystemNotificationDTO } from '../../types/dashboard';
 import { IconType, IconBaseProps } from 'react-icons';
 
@@ -99,7 +99,7 @@ const Dashboard: React.FC = () => {
                 const [dashboard, monthlyRevenue, serviceDist, activities, notifications] = await Promise.all([
                     getAdminDashboardData(),
                     getAdminMonthlyRevenue(new Date().getFullYear()),
-                    getAdminServiceDistribution(),
+                    getAdminServiceDistribution(6),
                     getRecentActivities(),
                     getSystemNotifications()
                 ]);
@@ -126,17 +126,17 @@ const Dashboard: React.FC = () => {
         };
         fetchDashboardData();
 
-        const notificationRefreshInterval = setInterval(async () => {
-            try {
-                const notifications = await getSystemNotifications();
-                setSystemNotifications(notifications);
-            } catch (err) {
-                console.error('Error refreshing notifications:', err);
-            }
-        }, 60000);
+        const notificationStream = subscribeToSystemNotifications(
+            (notifications) => setSystemNotifications(notifications),
+            (delta) => setSystemNotifications(prev => [
+                ...prev.filter(notif => !delta.removed.includes(notif.id)
+                    && !delta.added.some(added => added.id === notif.id)),
+                ...delta.added
+            ])
+        );
         
         return () => {
-            clearInterval(notificationRefreshInterval);
+            notificationStream.close();
         };
     }, []);
 
@@ -520,7 +520,7 @@ const Reports: React.FC = () => {
                                 <li className="flex justify-between items-center">
                                     <span className="text-gray-600">Avg. Session Time</span>
                                     <span className="font-medium bg-white px-3 py-1 rounded-full shadow-sm">
-                                        {dashboard.avgSessionTime}
+                                        {dashboard.avgSessionTime} min
                                     </span>
                                 </li>
                             </ul>
@@ -532,15 +532,15 @@ const Reports: React.FC = () => {
                             </h3>
                             <ul className="mt-3 space-y-4">
                                 <li className="flex justify-between items-center">
-                                    <span className="text-gray-600">Uptime</span>
+                                    <span className="text-gray-600">Availability</span>
                                     <span className="font-medium text-green-600 bg-green-50 px-3 py-1 rounded-full shadow-sm">
-                                        {dashboard.uptime}%
+                                        {dashboard.availability}%
                                     </span>
                                 </li>
                                 <li className="flex justify-between items-center">
                                     <span className="text-gray-600">Response Time</span>
                                     <span className="font-medium bg-white px-3 py-1 rounded-full shadow-sm">
-                                        {dashboard.responseTime}s
+                                        p50 {dashboard.responseTime}s / p99 {dashboard.responseTimeP99}s
                                     </span>
                                 </li>
                                 <li className="flex justify-between items-center">
@@ -552,7 +552,7 @@ const Reports: React.FC = () => {
                                 <li className="flex justify-between items-center">
                                     <span className="text-gray-600">Bandwidth</span>
                                     <span className="font-medium bg-white px-3 py-1 rounded-full shadow-sm">
-                                        {dashboard.bandwidth}%
+                                        {dashboard.bandwidth} KB/s
                                     </span>
                                 </li>
                             </ul>
@@ -5,11 +5,22 @@ export interface RecentActivityDTO {
     timestamp: string;
 }
 
+export interface ActivityPageDTO {
+    items: RecentActivityDTO[];
+    nextCursor: string | null;
+}
+
 export interface SystemNotificationDTO {
     id: string;
+    version: number;
     message: string;
     type: 'info' | 'warning' | 'error';
     priority: 'low' | 'medium' | 'high';
     isRead: boolean;
 }
 
+export interface NotificationDeltaDTO {
+    added: SystemNotificationDTO[];
+    removed: string[];
+}
+